@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -27,22 +28,29 @@ public class BookingClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, String fields) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "fields", Objects.requireNonNullElse(fields, "")
+        );
+        return get("?state={state}&fields={fields}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner?state={state}", userId, parameters);
+    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, String fields) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "fields", Objects.requireNonNullElse(fields, "")
+        );
+        return get("/owner?state={state}&fields={fields}", userId, parameters);
     }
 
     public ResponseEntity<Object> bookItem(long userId, CreateBookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public ResponseEntity<Object> getBooking(long userId, Long bookingId, String fields) {
+        Map<String, Object> parameters = Map.of("fields", Objects.requireNonNullElse(fields, ""));
+        return get("/" + bookingId + "?fields={fields}", userId, parameters);
     }
 
     public ResponseEntity<Object> approveBooking(long userId, Long bookingId, Boolean approved) {
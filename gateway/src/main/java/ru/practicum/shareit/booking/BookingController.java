@@ -37,32 +37,35 @@ public class BookingController {
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(
             @PathVariable Long bookingId,
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get booking {}, userId={}", bookingId, userId);
-        return bookingClient.getBooking(userId, bookingId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) String fields) {
+        log.info("Get booking {}, userId={}, fields={}", bookingId, userId, fields);
+        return bookingClient.getBooking(userId, bookingId, fields);
     }
 
     @GetMapping
     public ResponseEntity<Object> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(defaultValue = "ALL") String state) {
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String fields) {
 
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
 
-        log.info("Get user bookings with state {}, userId={}", state, userId);
-        return bookingClient.getBookings(userId, bookingState);
+        log.info("Get user bookings with state {}, userId={}, fields={}", state, userId, fields);
+        return bookingClient.getBookings(userId, bookingState, fields);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(defaultValue = "ALL") String state) {
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String fields) {
 
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
 
-        log.info("Get owner bookings with state {}, userId={}", state, userId);
-        return bookingClient.getOwnerBookings(userId, bookingState);
+        log.info("Get owner bookings with state {}, userId={}, fields={}", state, userId, fields);
+        return bookingClient.getOwnerBookings(userId, bookingState, fields);
     }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -81,6 +83,35 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        try {
+            return rest.execute(path, HttpMethod.POST,
+                    request -> {
+                        HttpHeaders headers = defaultHeaders(userId);
+                        headers.setContentType(contentType);
+                        request.getHeaders().putAll(headers);
+                        if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                            streamingRequest.setBody(body::transferTo);
+                        } else {
+                            body.transferTo(request.getBody());
+                        }
+                    },
+                    response -> ResponseEntity.status(response.getStatusCode())
+                            .body(objectMapper.readValue(response.getBody(), Object.class)));
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    protected void getStream(String path, MediaType accept, OutputStream out) {
+        rest.execute(path, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(accept)),
+                response -> {
+                    response.getBody().transferTo(out);
+                    return null;
+                });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
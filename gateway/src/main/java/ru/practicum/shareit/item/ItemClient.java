@@ -3,15 +3,22 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -31,21 +38,61 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importItems(long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
     public ResponseEntity<Object> updateItem(long userId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public ResponseEntity<Object> updateAvailability(long userId, ItemAvailabilityDto availabilityDto) {
+        return patch("/availability", userId, availabilityDto);
     }
 
-    public ResponseEntity<Object> getAllUserItems(long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getItem(long userId, Long itemId, String fields) {
+        Map<String, Object> parameters = Map.of("fields", Objects.requireNonNullElse(fields, ""));
+        return get("/" + itemId + "?fields={fields}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAllUserItems(long userId, Integer from, Integer size, ItemSort sort,
+                                                  String fields) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "sort", sort.name(),
+                "fields", Objects.requireNonNullElse(fields, "")
+        );
+        return get("?from={from}&size={size}&sort={sort}&fields={fields}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", null, parameters);
+    public ResponseEntity<Object> getItemsByIds(long userId, List<Long> ids, String fields) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                "fields", Objects.requireNonNullElse(fields, "")
+        );
+        return get("?ids={ids}&fields={fields}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getItemChanges(Long after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("/changes?after={after}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchItems(String text, boolean fuzzy, ItemSort sort) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "fuzzy", fuzzy,
+                "sort", sort.name()
+        );
+        return get("/search?text={text}&fuzzy={fuzzy}&sort={sort}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getSuggestedRequests(long userId, Long itemId) {
+        return get("/" + itemId + "/suggested-requests", userId);
     }
 
     public ResponseEntity<Object> deleteItem(long userId, Long itemId) {
@@ -55,4 +102,15 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> addComment(long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public ResponseEntity<Object> getItemComments(Long itemId, Long after, Integer size) {
+        if (after == null) {
+            return get("/" + itemId + "/comments?size={size}", null, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?after={after}&size={size}", null, parameters);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,24 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -25,6 +36,23 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<Object> importItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        log.info("Importing items, userId={}, contentType={}", userId, contentType);
+        return itemClient.importItems(userId, contentType, body);
+    }
+
+    @PatchMapping("/availability")
+    public ResponseEntity<Object> updateAvailability(
+            @Valid @RequestBody ItemAvailabilityDto availabilityDto,
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Updating availability {}, userId={}", availabilityDto, userId);
+        return itemClient.updateAvailability(userId, availabilityDto);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(
             @PathVariable Long itemId,
@@ -37,23 +65,60 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItem(
             @PathVariable Long itemId,
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get item {}, userId={}", itemId, userId);
-        return itemClient.getItem(userId, itemId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) String fields) {
+        log.info("Get item {}, userId={}, fields={}", itemId, userId, fields);
+        return itemClient.getItem(userId, itemId, fields);
     }
 
     @GetMapping
     public ResponseEntity<Object> getAllUserItems(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get all user items, userId={}", userId);
-        return itemClient.getAllUserItems(userId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "DEFAULT") String sort,
+            @RequestParam(required = false) String fields) {
+        ItemSort itemSort = ItemSort.from(sort)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + sort));
+        log.info("Get all user items, userId={}, from={}, size={}, sort={}, fields={}",
+                userId, from, size, itemSort, fields);
+        return itemClient.getAllUserItems(userId, from, size, itemSort, fields);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getItemsByIds(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @NotEmpty @Size(max = 100) @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        log.info("Get items by ids {}, userId={}, fields={}", ids, userId, fields);
+        return itemClient.getItemsByIds(userId, ids, fields);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<Object> getItemChanges(
+            @PositiveOrZero @RequestParam(defaultValue = "0") Long after,
+            @Positive @RequestParam(defaultValue = "100") Integer size) {
+        log.info("Get item changes after={}, size={}", after, size);
+        return itemClient.getItemChanges(after, size);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(
-            @RequestParam String text) {
-        log.info("Search items with text: '{}'", text);
-        return itemClient.searchItems(text);
+            @RequestParam String text,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "DEFAULT") String sort) {
+        ItemSort itemSort = ItemSort.from(sort)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + sort));
+        log.info("Search items with text: '{}', fuzzy={}, sort={}", text, fuzzy, itemSort);
+        return itemClient.searchItems(text, fuzzy, itemSort);
+    }
+
+    @GetMapping("/{itemId}/suggested-requests")
+    public ResponseEntity<Object> getSuggestedRequests(
+            @PathVariable Long itemId,
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Get suggested requests for item {}, userId={}", itemId, userId);
+        return itemClient.getSuggestedRequests(userId, itemId);
     }
 
     @DeleteMapping("/{itemId}")
@@ -72,4 +137,13 @@ public class ItemController {
         log.info("Adding comment to item {}, userId={}", itemId, userId);
         return itemClient.addComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getItemComments(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) Long after,
+            @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get comments of item {}, after={}, size={}", itemId, after, size);
+        return itemClient.getItemComments(itemId, after, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+
+    @Size(max = 1000, message = "Можно изменить не более 1000 вещей за запрос")
+    private List<Long> itemIds;
+
+    @NotNull(message = "Статус доступности не может быть пустым")
+    private Boolean available;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum ItemSort {
+    DEFAULT, POPULAR;
+
+    public static Optional<ItemSort> from(String stringSort) {
+        if (stringSort == null || stringSort.isBlank()) {
+            return Optional.of(DEFAULT);
+        }
+        for (ItemSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(stringSort)) {
+                return Optional.of(sort);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -34,7 +34,14 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size, Long after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "after", after,
+                    "size", size
+            );
+            return get("/all?after={after}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,6 +49,14 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> pollAnswers(long userId, Long after, Integer timeout) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "timeout", timeout
+        );
+        return get("/answers?after={after}&timeout={timeout}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getRequestById(long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
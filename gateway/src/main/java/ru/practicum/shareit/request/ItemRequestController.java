@@ -37,9 +37,19 @@ public class ItemRequestController {
     public ResponseEntity<Object> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all requests, userId={}, from={}, size={}", userId, from, size);
-        return requestClient.getAllRequests(userId, from, size);
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Long after) {
+        log.info("Get all requests, userId={}, from={}, size={}, after={}", userId, from, size, after);
+        return requestClient.getAllRequests(userId, from, size, after);
+    }
+
+    @GetMapping("/answers")
+    public ResponseEntity<Object> pollAnswers(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Long after,
+            @Positive @RequestParam(defaultValue = "30") Integer timeout) {
+        log.info("Poll request answers, userId={}, after={}, timeout={}", userId, after, timeout);
+        return requestClient.pollAnswers(userId, after, timeout);
     }
 
     @GetMapping("/{requestId}")
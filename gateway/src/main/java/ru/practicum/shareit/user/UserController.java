@@ -1,13 +1,19 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -22,6 +28,12 @@ public class UserController {
         return userClient.createUser(userDto);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<Object> provisionUsers(@RequestBody List<UserDto> users) {
+        log.info("Provisioning {} users", users.size());
+        return userClient.provisionUsers(users);
+    }
+
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> updateUser(
             @PathVariable Long userId,
@@ -36,10 +48,26 @@ public class UserController {
         return userClient.getUser(userId);
     }
 
+    @GetMapping("/{userId}/summary")
+    public ResponseEntity<Object> getUserSummary(@PathVariable Long userId) {
+        log.info("Get summary of user {}", userId);
+        return userClient.getUserSummary(userId);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
-        log.info("Get all users");
-        return userClient.getAllUsers();
+    public ResponseEntity<Object> getAllUsers(
+            @PositiveOrZero @RequestParam(defaultValue = "0") Long after,
+            @Positive @RequestParam(defaultValue = "100") Integer size) {
+        log.info("Get users after={}, size={}", after, size);
+        return userClient.getAllUsers(after, size);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Export users");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userClient::exportUsers);
     }
 
     @DeleteMapping("/{userId}")
@@ -14,6 +14,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -106,7 +107,17 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isOk());
 
-        verify(bookingClient, times(1)).getBooking(eq(2L), eq(1L));
+        verify(bookingClient, times(1)).getBooking(eq(2L), eq(1L), isNull());
+    }
+
+    @Test
+    void getUserBookings_whenFieldsGiven_thenForwardFields() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("fields", "start,status"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient, times(1)).getBookings(eq(2L), any(), eq("start,status"));
     }
 
     @Test
@@ -116,7 +127,7 @@ class BookingControllerTest {
                         .param("state", "ALL"))
                 .andExpect(status().isOk());
 
-        verify(bookingClient, times(1)).getBookings(eq(2L), any());
+        verify(bookingClient, times(1)).getBookings(eq(2L), any(), isNull());
     }
 
     @Test
@@ -125,7 +136,7 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isOk());
 
-        verify(bookingClient, times(1)).getBookings(eq(2L), any());
+        verify(bookingClient, times(1)).getBookings(eq(2L), any(), isNull());
     }
 
     @Test
@@ -135,7 +146,7 @@ class BookingControllerTest {
                         .param("state", "ALL"))
                 .andExpect(status().isOk());
 
-        verify(bookingClient, times(1)).getOwnerBookings(eq(1L), any());
+        verify(bookingClient, times(1)).getOwnerBookings(eq(1L), any(), isNull());
     }
 
     @Test
@@ -144,6 +155,6 @@ class BookingControllerTest {
                         .param("state", "ALL"))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getOwnerBookings(anyLong(), any());
+        verify(bookingClient, never()).getOwnerBookings(anyLong(), any(), any());
     }
 }
\ No newline at end of file
@@ -9,11 +9,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
+
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -106,7 +112,17 @@ class ItemControllerTest {
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(itemClient, times(1)).getItem(eq(1L), eq(1L));
+        verify(itemClient, times(1)).getItem(eq(1L), eq(1L), isNull());
+    }
+
+    @Test
+    void getAllUserItems_whenFieldsGiven_thenForwardFields() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "name,available"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getAllUserItems(1L, 0, 10, ItemSort.DEFAULT, "name,available");
     }
 
     @Test
@@ -115,7 +131,18 @@ class ItemControllerTest {
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(itemClient, times(1)).getAllUserItems(1L);
+        verify(itemClient, times(1)).getAllUserItems(1L, 0, 10, ItemSort.DEFAULT, null);
+    }
+
+    @Test
+    void getAllUserItems_whenPageRequested_thenPassPage() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getAllUserItems(1L, 20, 5, ItemSort.DEFAULT, null);
     }
 
     @Test
@@ -124,7 +151,7 @@ class ItemControllerTest {
                         .param("text", "дрель"))
                 .andExpect(status().isOk());
 
-        verify(itemClient, times(1)).searchItems("дрель");
+        verify(itemClient, times(1)).searchItems("дрель", false, ItemSort.DEFAULT);
     }
 
     @Test
@@ -133,7 +160,26 @@ class ItemControllerTest {
                         .param("text", ""))
                 .andExpect(status().isOk());
 
-        verify(itemClient, times(1)).searchItems("");
+        verify(itemClient, times(1)).searchItems("", false, ItemSort.DEFAULT);
+    }
+
+    @Test
+    void searchItems_whenFuzzy_thenPassFuzzyFlag() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drel")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).searchItems("drel", true, ItemSort.DEFAULT);
+    }
+
+    @Test
+    void getSuggestedRequests_whenValid_thenReturnOk() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/suggested-requests", 1L)
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getSuggestedRequests(2L, 1L);
     }
 
     @Test
@@ -169,4 +215,79 @@ class ItemControllerTest {
 
         verify(itemClient, never()).addComment(anyLong(), anyLong(), any(CommentDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemComments_whenNoCursor_thenUseDefaultSize() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/comments", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getItemComments(1L, null, 10);
+    }
+
+    @Test
+    void importItems_whenNdjson_thenStreamToServer() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Дрель\",\"description\":\"Мощная\",\"available\":true}\n"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).importItems(eq(1L),
+                argThat(type -> type.isCompatibleWith(MediaType.APPLICATION_NDJSON)), any());
+    }
+
+    @Test
+    void importItems_whenJson_thenReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemClient, never()).importItems(anyLong(), any(), any());
+    }
+
+    @Test
+    void updateAvailability_whenValid_thenReturnOk() throws Exception {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto(null, false);
+
+        mockMvc.perform(patch("/items/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(availabilityDto)))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).updateAvailability(1L, availabilityDto);
+    }
+
+    @Test
+    void updateAvailability_whenAvailableMissing_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/items/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemIds\":[1,2]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).updateAvailability(anyLong(), any(ItemAvailabilityDto.class));
+    }
+
+    @Test
+    void getItemsByIds_whenIdsGiven_thenCallMultiGet() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("ids", "3,1,2"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getItemsByIds(1L, List.of(3L, 1L, 2L), null);
+        verify(itemClient, never()).getAllUserItems(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getItemChanges_whenNoParams_thenUseDefaults() throws Exception {
+        mockMvc.perform(get("/items/changes"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getItemChanges(0L, 100);
+        verify(itemClient, never()).getItem(anyLong(), anyLong(), any());
+    }
+}
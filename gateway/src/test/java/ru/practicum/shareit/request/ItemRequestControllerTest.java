@@ -13,6 +13,7 @@ import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -92,7 +93,7 @@ class ItemRequestControllerTest {
                         .param("size", "10"))
                 .andExpect(status().isOk());
 
-        verify(requestClient, times(1)).getAllRequests(eq(1L), eq(0), eq(10));
+        verify(requestClient, times(1)).getAllRequests(eq(1L), eq(0), eq(10), isNull());
     }
 
     @Test
@@ -101,7 +102,17 @@ class ItemRequestControllerTest {
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(requestClient, times(1)).getAllRequests(eq(1L), eq(0), eq(10));
+        verify(requestClient, times(1)).getAllRequests(eq(1L), eq(0), eq(10), isNull());
+    }
+
+    @Test
+    void getAllRequests_whenAfterGiven_thenPassCursor() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "5"))
+                .andExpect(status().isOk());
+
+        verify(requestClient, times(1)).getAllRequests(eq(1L), eq(0), eq(10), eq(5L));
     }
 
     @Test
@@ -112,4 +123,24 @@ class ItemRequestControllerTest {
 
         verify(requestClient, times(1)).getRequestById(eq(1L), eq(1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void pollAnswers_whenDefaultParams_thenReturnOk() throws Exception {
+        mockMvc.perform(get("/requests/answers")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(requestClient, times(1)).pollAnswers(eq(1L), eq(0L), eq(30));
+    }
+
+    @Test
+    void pollAnswers_whenCursorGiven_thenPassCursorAndTimeout() throws Exception {
+        mockMvc.perform(get("/requests/answers")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "42")
+                        .param("timeout", "10"))
+                .andExpect(status().isOk());
+
+        verify(requestClient, times(1)).pollAnswers(eq(1L), eq(42L), eq(10));
+    }
+}
@@ -8,17 +8,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -53,6 +62,20 @@ class UserControllerTest {
         verify(userClient, times(1)).createUser(any(UserDto.class));
     }
 
+    @Test
+    void provisionUsers_whenRowsInvalid_thenPassAllRowsToServer() throws Exception {
+        UserDto invalidUser = new UserDto();
+        invalidUser.setName("");
+        invalidUser.setEmail("invalid-email");
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(userDto, invalidUser))))
+                .andExpect(status().isOk());
+
+        verify(userClient, times(1)).provisionUsers(List.of(userDto, invalidUser));
+    }
+
     @Test
     void createUser_whenInvalidUser_thenReturnBadRequest() throws Exception {
         UserDto invalidUser = new UserDto();
@@ -88,12 +111,48 @@ class UserControllerTest {
         verify(userClient, times(1)).getUser(1L);
     }
 
+    @Test
+    void getUserSummary_whenValid_thenReturnOk() throws Exception {
+        mockMvc.perform(get("/users/{userId}/summary", 1L))
+                .andExpect(status().isOk());
+
+        verify(userClient, times(1)).getUserSummary(1L);
+    }
+
     @Test
     void getAllUsers_whenCalled_thenReturnOk() throws Exception {
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk());
 
-        verify(userClient, times(1)).getAllUsers();
+        verify(userClient, times(1)).getAllUsers(0L, 100);
+    }
+
+    @Test
+    void getAllUsers_whenCursorGiven_thenPassToClient() throws Exception {
+        mockMvc.perform(get("/users")
+                        .param("after", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+
+        verify(userClient, times(1)).getAllUsers(20L, 5);
+    }
+
+    @Test
+    void exportUsers_whenCalled_thenRelayServerStream() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userClient).exportUsers(any(OutputStream.class));
+
+        MvcResult pending = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
     }
 
     @Test
@@ -1,19 +1,20 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
-
-import java.util.List;
+import ru.practicum.shareit.common.FieldSet;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto createBooking(@RequestBody CreateBookingDto bookingDto,
@@ -29,20 +30,26 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public BookingDto getBooking(@PathVariable Long bookingId,
-                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return bookingService.getBookingById(bookingId, userId);
+    public Object getBooking(@PathVariable Long bookingId,
+                             @RequestHeader("X-Sharer-User-Id") Long userId,
+                             @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, BookingDto.class);
+        return fieldSet.project(bookingService.getBookingById(bookingId, userId, fieldSet), objectMapper);
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getUserBookings(userId, state);
+    public Object getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @RequestParam(defaultValue = "ALL") BookingState state,
+                                  @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, BookingDto.class);
+        return fieldSet.project(bookingService.getUserBookings(userId, state, fieldSet), objectMapper);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getOwnerBookings(userId, state);
+    public Object getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @RequestParam(defaultValue = "ALL") BookingState state,
+                                   @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, BookingDto.class);
+        return fieldSet.project(bookingService.getOwnerBookings(userId, state, fieldSet), objectMapper);
     }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.booking.event;
+
+public record BookingDemandChangedEvent(Long itemId, Long ownerId, int delta) {
+}
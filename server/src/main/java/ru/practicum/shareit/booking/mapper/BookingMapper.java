@@ -2,27 +2,39 @@ package ru.practicum.shareit.booking.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.FieldSet;
 
 import java.time.format.DateTimeFormatter;
 
 public class BookingMapper {
 
     public static BookingDto toDto(Booking booking) {
+        return toDto(booking, FieldSet.ALL);
+    }
+
+    /**
+     * Leaves out the item and booker summaries unless requested, so their lazy associations stay unloaded.
+     */
+    public static BookingDto toDto(Booking booking, FieldSet fields) {
         BookingDto dto = new BookingDto();
         dto.setId(booking.getId());
         dto.setStart(booking.getStart().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         dto.setEnd(booking.getEnd().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         dto.setStatus(booking.getStatus());
 
-        BookingDto.ItemInfo itemInfo = new BookingDto.ItemInfo();
-        itemInfo.setId(booking.getItem().getId());
-        itemInfo.setName(booking.getItem().getName());
-        dto.setItem(itemInfo);
+        if (fields.includes("item")) {
+            BookingDto.ItemInfo itemInfo = new BookingDto.ItemInfo();
+            itemInfo.setId(booking.getItem().getId());
+            itemInfo.setName(booking.getItem().getName());
+            dto.setItem(itemInfo);
+        }
 
-        BookingDto.BookerInfo bookerInfo = new BookingDto.BookerInfo();
-        bookerInfo.setId(booking.getBooker().getId());
-        bookerInfo.setName(booking.getBooker().getName());
-        dto.setBooker(bookerInfo);
+        if (fields.includes("booker")) {
+            BookingDto.BookerInfo bookerInfo = new BookingDto.BookerInfo();
+            bookerInfo.setId(booking.getBooker().getId());
+            bookerInfo.setName(booking.getBooker().getName());
+            dto.setBooker(bookerInfo);
+        }
 
         return dto;
     }
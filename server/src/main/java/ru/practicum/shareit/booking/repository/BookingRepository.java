@@ -1,43 +1,96 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
-
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status);
-
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end);
-
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime end);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start);
-
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.end < :now AND b.status = 'APPROVED' ORDER BY b.end DESC")
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND u.id = :bookerId ORDER BY b.start DESC")
+    List<Booking> findByBookerIdOrderByStartDesc(@Param("bookerId") Long bookerId);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND i.owner.id = :ownerId ORDER BY b.start DESC")
+    List<Booking> findByItemOwnerIdOrderByStartDesc(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND u.id = :bookerId AND b.status = :status ORDER BY b.start DESC")
+    List<Booking> findByBookerIdAndStatusOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                          @Param("status") BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND i.owner.id = :ownerId AND b.status = :status ORDER BY b.start DESC")
+    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                             @Param("status") BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND u.id = :bookerId AND b.end < :end ORDER BY b.start DESC")
+    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                             @Param("end") LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND i.owner.id = :ownerId AND b.end < :end ORDER BY b.start DESC")
+    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                @Param("end") LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND u.id = :bookerId AND b.start > :start ORDER BY b.start DESC")
+    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                              @Param("start") LocalDateTime start);
+
+    @Query("SELECT b FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE i.deletedAt IS NULL AND u.deletedAt IS NULL AND i.owner.id = :ownerId AND b.start > :start ORDER BY b.start DESC")
+    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                 @Param("start") LocalDateTime start);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u " +
+            "WHERE b.id = :bookingId AND i.deletedAt IS NULL AND u.deletedAt IS NULL")
+    Optional<Booking> findByIdWithItemAndBooker(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT b FROM Booking b JOIN b.booker u " +
+            "WHERE u.deletedAt IS NULL AND b.item.id = :itemId AND b.end < :now AND b.status = 'APPROVED' ORDER BY b.end DESC")
     List<Booking> findLastBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.start > :now AND b.status = 'APPROVED' ORDER BY b.start ASC")
+    @Query("SELECT b FROM Booking b JOIN b.booker u " +
+            "WHERE u.deletedAt IS NULL AND b.item.id = :itemId AND b.start > :now AND b.status = 'APPROVED' ORDER BY b.start ASC")
     List<Booking> findNextBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.end < :now AND b.status = 'APPROVED'")
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker u " +
+            "WHERE u.deletedAt IS NULL AND b.item.id IN :itemIds AND b.end < :now AND b.status = 'APPROVED' " +
+            "AND b.end = (SELECT MAX(b2.end) FROM Booking b2 JOIN b2.booker u2 " +
+            "WHERE u2.deletedAt IS NULL AND b2.item.id = b.item.id AND b2.end < :now AND b2.status = 'APPROVED')")
     List<Booking> findLastBookingsForItems(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.start > :now AND b.status = 'APPROVED'")
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker u " +
+            "WHERE u.deletedAt IS NULL AND b.item.id IN :itemIds AND b.start > :now AND b.status = 'APPROVED' " +
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 JOIN b2.booker u2 " +
+            "WHERE u2.deletedAt IS NULL AND b2.item.id = b.item.id AND b2.start > :now AND b2.status = 'APPROVED')")
     List<Booking> findNextBookingsForItems(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
 
-    List<Booking> findByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime end);
-}
\ No newline at end of file
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId,
+                                                          BookingStatus status, LocalDateTime end);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN (" +
+            "SELECT b.id FROM bookings b WHERE b.item_id IN (:itemIds) LIMIT :limit)", nativeQuery = true)
+    int purgeChunkByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN (" +
+            "SELECT b.id FROM bookings b WHERE b.booker_id IN (:bookerIds) LIMIT :limit)", nativeQuery = true)
+    int purgeChunkByBookerIds(@Param("bookerIds") Collection<Long> bookerIds, @Param("limit") int limit);
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.common.FieldSet;
 
 import java.util.List;
 
@@ -11,9 +12,9 @@ public interface BookingService {
 
     BookingDto approveBooking(Long bookingId, Boolean approved, Long userId);
 
-    BookingDto getBookingById(Long bookingId, Long userId);
+    BookingDto getBookingById(Long bookingId, Long userId, FieldSet fields);
 
-    List<BookingDto> getUserBookings(Long userId, BookingState state);
+    List<BookingDto> getUserBookings(Long userId, BookingState state, FieldSet fields);
 
-    List<BookingDto> getOwnerBookings(Long userId, BookingState state);
+    List<BookingDto> getOwnerBookings(Long userId, BookingState state, FieldSet fields);
 }
\ No newline at end of file
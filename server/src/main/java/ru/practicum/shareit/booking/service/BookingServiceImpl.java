@@ -1,21 +1,26 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.event.BookingDemandChangedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+import ru.practicum.shareit.user.event.UserActivityEvent;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,12 +32,13 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public BookingDto createBooking(CreateBookingDto bookingDto, Long userId) {
-        User booker = findUserOrThrow(userId);
+        User booker = userDirectory.getReference(userId);
         Item item = findItemOrThrow(bookingDto.getItemId());
         LocalDateTime start = LocalDateTime.parse(bookingDto.getStart());
         LocalDateTime end = LocalDateTime.parse(bookingDto.getEnd());
@@ -52,6 +58,9 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(BookingStatus.WAITING);
 
         Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingDemandChangedEvent(item.getId(), item.getOwner().getId(), 1));
+        eventPublisher.publishEvent(new UserActivityEvent(userId));
+        eventPublisher.publishEvent(new UserActivityEvent(item.getOwner().getId()));
         return BookingMapper.toDto(saved);
     }
 
@@ -69,11 +78,15 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         Booking updated = bookingRepository.save(booking);
+        eventPublisher.publishEvent(ItemChangedEvent.of(booking.getItem().getId()));
+        if (!approved) {
+            eventPublisher.publishEvent(new BookingDemandChangedEvent(booking.getItem().getId(), userId, -1));
+        }
         return BookingMapper.toDto(updated);
     }
 
     @Override
-    public BookingDto getBookingById(Long bookingId, Long userId) {
+    public BookingDto getBookingById(Long bookingId, Long userId, FieldSet fields) {
         Booking booking = findBookingOrThrow(bookingId);
 
         boolean isBooker = booking.getBooker().getId().equals(userId);
@@ -83,70 +96,65 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Доступ запрещен");
         }
 
-        return BookingMapper.toDto(booking);
+        return BookingMapper.toDto(booking, fields);
     }
 
     @Override
-    public List<BookingDto> getUserBookings(Long userId, BookingState state) {
-        findUserOrThrow(userId);
+    public List<BookingDto> getUserBookings(Long userId, BookingState state, FieldSet fields) {
+        userDirectory.requireExists(userId);
         LocalDateTime now = LocalDateTime.now();
 
         switch (state) {
             case ALL: return bookingRepository.findByBookerIdOrderByStartDesc(userId).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case CURRENT: return filterCurrentBookings(
-                    bookingRepository.findByBookerIdOrderByStartDesc(userId), now);
+                    bookingRepository.findByBookerIdOrderByStartDesc(userId), now, fields);
             case PAST: return bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case FUTURE: return bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case WAITING: return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case REJECTED: return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             default: throw new ValidationException("Unknown state: " + state);
         }
     }
 
     @Override
-    public List<BookingDto> getOwnerBookings(Long userId, BookingState state) {
-        findUserOrThrow(userId);
+    public List<BookingDto> getOwnerBookings(Long userId, BookingState state, FieldSet fields) {
+        userDirectory.requireExists(userId);
         LocalDateTime now = LocalDateTime.now();
 
         switch (state) {
             case ALL: return bookingRepository.findByItemOwnerIdOrderByStartDesc(userId).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case PAST: return bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case FUTURE: return bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case WAITING: return bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             case REJECTED: return bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED).stream()
-                    .map(BookingMapper::toDto).collect(Collectors.toList());
+                    .map(booking -> BookingMapper.toDto(booking, fields)).collect(Collectors.toList());
             default: throw new ValidationException("Unknown state: " + state);
         }
     }
 
-    private List<BookingDto> filterCurrentBookings(List<Booking> bookings, LocalDateTime now) {
+    private List<BookingDto> filterCurrentBookings(List<Booking> bookings, LocalDateTime now, FieldSet fields) {
         return bookings.stream()
                 .filter(b -> b.getStart().isBefore(now) && b.getEnd().isAfter(now))
-                .map(BookingMapper::toDto)
+                .map(booking -> BookingMapper.toDto(booking, fields))
                 .collect(Collectors.toList());
     }
 
-    private User findUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-    }
-
     private Item findItemOrThrow(Long itemId) {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь не найдена"));
     }
 
     private Booking findBookingOrThrow(Long bookingId) {
-        return bookingRepository.findById(bookingId)
+        return bookingRepository.findByIdWithItemAndBooker(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Response fields requested through the {@code fields} parameter. Services consult it to skip
+ * loading data nobody asked for; controllers use it to drop the remaining fields from the body.
+ * {@code id} is always included.
+ */
+public final class FieldSet {
+    public static final FieldSet ALL = new FieldSet(null);
+
+    private static final String ID = "id";
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final Set<String> fields;
+
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSet of(String... fields) {
+        Set<String> requested = new LinkedHashSet<>(Arrays.asList(fields));
+        requested.add(ID);
+        return new FieldSet(requested);
+    }
+
+    /**
+     * Parses a comma-separated list of field names of {@code dtoType}; a missing or blank value means all fields.
+     */
+    public static FieldSet parse(String value, Class<?> dtoType) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add(ID);
+        for (String name : value.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(field)) {
+                throw new ValidationException("Неизвестное поле: " + field);
+            }
+            requested.add(field);
+        }
+        return new FieldSet(requested);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean includesAny(String... fields) {
+        return Arrays.stream(fields).anyMatch(this::includes);
+    }
+
+    /**
+     * Returns the body unchanged when all fields are requested, otherwise maps of the requested fields only.
+     */
+    public Object project(Object body, ObjectMapper objectMapper) {
+        if (isAll() || body == null) {
+            return body;
+        }
+        if (body instanceof Collection<?> items) {
+            return items.stream()
+                    .map(item -> projectOne(item, objectMapper))
+                    .collect(Collectors.toList());
+        }
+        return projectOne(body, objectMapper);
+    }
+
+    private Map<String, Object> projectOne(Object dto, ObjectMapper objectMapper) {
+        Map<String, Object> values = objectMapper.convertValue(dto, MAP_TYPE);
+        values.keySet().retainAll(fields);
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FieldSet other)) return false;
+        return Objects.equals(fields, other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(fields);
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "FieldSet[*]" : "FieldSet" + List.copyOf(fields);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.common;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Hands Hibernate a Caffeine JCache manager of its own for the second-level cache. The provider shares
+ * managers by URI and Hibernate closes its manager together with the session factory, so every
+ * application context gets a fresh URI; region sizes still come from {@code application.conf}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer() {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, createCacheManager());
+    }
+
+    private CacheManager createCacheManager() {
+        URI uri = URI.create("urn:shareit:second-level-cache:" + UUID.randomUUID());
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the hit ratio of every second-level cache region as a gauge, next to the hit and miss
+ * counters Boot already binds from Hibernate statistics. A region nobody has asked yet reports NaN.
+ * Statistics are off unless the {@code stats} profile enables them, and so is this binder.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+    public static final String HIT_RATIO = "hibernate.second.level.cache.hit.ratio";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            Gauge.builder(HIT_RATIO, statistics, stats -> hitRatio(stats.getDomainDataRegionStatistics(region)))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups served without a database read")
+                    .register(registry);
+        }
+    }
+
+    static double hitRatio(CacheRegionStatistics regionStatistics) {
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / requests;
+    }
+}
@@ -1,14 +1,21 @@
 package ru.practicum.shareit.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
 public class ErrorHandler {
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            "uq_user_email", "Пользователь с таким email уже существует"
+    );
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -28,9 +35,40 @@ public class ErrorHandler {
         return Map.of("error", "Конфликт данных", "message", e.getMessage());
     }
 
+    /**
+     * Only violations of the constraints listed in {@link #CONSTRAINT_MESSAGES} are conflicts. Other unique
+     * violations mean a missing check on the server; foreign key, not-null and the like come from bad input.
+     */
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(final DataIntegrityViolationException e) {
+        ConstraintViolationException violation = e.getCause() instanceof ConstraintViolationException cause ? cause : null;
+        String knownMessage = violation == null ? null : constraintMessage(violation);
+        if (knownMessage != null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(handleConflictException(new ConflictException(knownMessage)));
+        }
+        if (violation != null && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+            return ResponseEntity.internalServerError().body(handleRuntimeException(e));
+        }
+        return ResponseEntity.badRequest()
+                .body(handleCustomValidationException(new ValidationException("Нарушено ограничение целостности данных")));
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleRuntimeException(final RuntimeException e) {
         return Map.of("error", "Внутренняя ошибка сервера", "message", e.getMessage());
     }
+
+    private static String constraintMessage(ConstraintViolationException violation) {
+        if (violation.getConstraintName() != null) {
+            String constraintName = violation.getConstraintName().toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, String> entry : CONSTRAINT_MESSAGES.entrySet()) {
+                if (constraintName.contains(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Remembers (user, item) pairs that may comment on the item. Only positive answers are kept:
+ * a finished approved booking stays finished and approved, so eligibility once earned is never lost.
+ */
+@Component
+public class CommentEligibilityCache {
+    private final Cache<Key, Boolean> cache;
+
+    public CommentEligibilityCache(@Value("${shareit.comment-eligibility-cache.max-size:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean isEligible(Long userId, Long itemId, BooleanSupplier check) {
+        Key key = new Key(userId, itemId);
+        if (cache.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean eligible = check.getAsBoolean();
+        if (eligible) {
+            cache.put(key, Boolean.TRUE);
+        }
+        return eligible;
+    }
+
+    private record Key(Long userId, Long itemId) {
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bounded caches of the non-owner item view and, separately, of its embedded comments, so a request
+ * that does not ask for comments never loads them.
+ * Entries are evicted as soon as a change is published and once more when the publishing
+ * transaction completes, so views read inside that transaction never outlive it.
+ * A user update or deletion evicts the views of the user's items and the comments it wrote.
+ */
+@Component
+public class ItemDetailCache {
+    private final Cache<Long, Entry> cache;
+    private final Cache<Long, Comments> comments;
+
+    public ItemDetailCache(@Value("${shareit.item-detail-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.comments = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Entry get(Long itemId, Supplier<Entry> loader) {
+        return cache.get(itemId, key -> loader.get());
+    }
+
+    public Comments getComments(Long itemId, Supplier<Comments> loader) {
+        return comments.get(itemId, key -> loader.get());
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidateItems(event.itemIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onItemChangeCompleted(ItemChangedEvent event) {
+        invalidateItems(event.itemIds());
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onUserUpdateCompleted(UserUpdatedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onUserDeleteCompleted(UserDeletedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    private void invalidateItems(Collection<Long> itemIds) {
+        cache.invalidateAll(itemIds);
+        comments.invalidateAll(itemIds);
+    }
+
+    private void invalidateUser(Long userId) {
+        cache.asMap().values().removeIf(entry -> entry.ownerId().equals(userId));
+        comments.asMap().values().removeIf(entry -> entry.authorIds().contains(userId));
+    }
+
+    public record Entry(Long ownerId, ItemWithBookingsDto view) {
+    }
+
+    public record Comments(Set<Long> authorIds, List<CommentDto> comments) {
+    }
+}
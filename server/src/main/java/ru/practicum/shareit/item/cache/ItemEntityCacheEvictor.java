@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.cache;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemsBulkUpdatedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Drops items written by native updates from the second-level cache one id at a time, so the rest of
+ * the items region survives. Ids are evicted when the update is published and once more when the
+ * publishing transaction completes, so a concurrent read cannot keep the old row cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemEntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener
+    public void onItemsBulkUpdated(ItemsBulkUpdatedEvent event) {
+        evict(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onItemsBulkUpdateCompleted(ItemsBulkUpdatedEvent event) {
+        evict(event);
+    }
+
+    private void evict(ItemsBulkUpdatedEvent event) {
+        Cache cache = entityManagerFactory.getCache();
+        event.itemIds().forEach(itemId -> cache.evict(Item.class, itemId));
+    }
+}
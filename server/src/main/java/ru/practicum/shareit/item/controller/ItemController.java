@@ -1,12 +1,26 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityResultDto;
+import ru.practicum.shareit.item.dto.ItemChangeDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.importer.ImportFormat;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.service.ItemChangeFeedService;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,6 +28,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ItemChangeFeedService itemChangeFeedService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto createItem(@RequestBody ItemDto itemDto,
@@ -21,6 +38,19 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           InputStream body) {
+        return itemImportService.importItems(userId, ImportFormat.from(contentType), body);
+    }
+
+    @PatchMapping("/availability")
+    public ItemAvailabilityResultDto updateAvailability(@RequestBody ItemAvailabilityDto availabilityDto,
+                                                        @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemService.updateAvailability(availabilityDto, userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable Long itemId,
                               @RequestBody ItemDto itemDto,
@@ -29,19 +59,48 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemWithBookingsDto getItem(@PathVariable Long itemId,
-                                       @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.getItemById(itemId, userId);
+    public Object getItem(@PathVariable Long itemId,
+                          @RequestHeader("X-Sharer-User-Id") Long userId,
+                          @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, ItemWithBookingsDto.class);
+        return fieldSet.project(itemService.getItemById(itemId, userId, fieldSet), objectMapper);
     }
 
     @GetMapping
-    public List<ItemWithBookingsDto> getAllUserItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.getAllUserItems(userId);
+    public Object getAllUserItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @RequestParam(defaultValue = "0") Integer from,
+                                  @RequestParam(defaultValue = "10") Integer size,
+                                  @RequestParam(defaultValue = "DEFAULT") ItemSort sort,
+                                  @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, ItemWithBookingsDto.class);
+        return fieldSet.project(itemService.getAllUserItems(userId, from, size, sort, fieldSet), objectMapper);
+    }
+
+    @GetMapping(params = "ids")
+    public Object getItemsByIds(@RequestParam List<Long> ids,
+                                @RequestHeader("X-Sharer-User-Id") Long userId,
+                                @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, ItemWithBookingsDto.class);
+        return fieldSet.project(itemService.getItemsByIds(ids, userId, fieldSet), objectMapper);
+    }
+
+    @GetMapping("/changes")
+    public List<ItemChangeDto> getItemChanges(@RequestParam(defaultValue = "0") Long after,
+                                              @RequestParam(defaultValue = "100") Integer size) {
+        return itemChangeFeedService.getChanges(after, size);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "false") boolean fuzzy,
+                                     @RequestParam(defaultValue = "DEFAULT") ItemSort sort) {
+        return fuzzy ? itemService.fuzzySearchItems(text, sort) : itemService.searchItems(text, sort);
+    }
+
+    @GetMapping("/{itemId}/suggested-requests")
+    public List<ItemRequestDto> getSuggestedRequests(@PathVariable Long itemId,
+                                                     @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemService.getSuggestedRequests(itemId, userId);
     }
 
     @DeleteMapping("/{itemId}")
@@ -56,4 +115,11 @@ public class ItemController {
                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.addComment(itemId, commentDto, userId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getItemComments(@PathVariable Long itemId,
+                                            @RequestParam(required = false) Long after,
+                                            @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.getItemComments(itemId, after, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ItemAvailabilityDto {
+    private List<Long> itemIds;
+    private Boolean available;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.item.model.ItemChangeType;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ItemChangeDto {
+    private Long seq;
+    private Long itemId;
+    private ItemChangeType type;
+    private LocalDateTime changedAt;
+}
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.item.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemDto {
     private Long id;
     private String name;
@@ -10,4 +16,6 @@ public class ItemDto {
     private Boolean available;
     private Long requestId;
     private Long ownerId;
+    private Long commentCount;
+    private LocalDateTime lastCommentAt;
 }
\ No newline at end of file
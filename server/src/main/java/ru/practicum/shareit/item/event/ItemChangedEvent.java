@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.event;
+
+import java.util.Collection;
+import java.util.List;
+
+public record ItemChangedEvent(Collection<Long> itemIds) {
+    public static ItemChangedEvent of(Long itemId) {
+        return new ItemChangedEvent(List.of(itemId));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.event;
+
+import java.util.Collection;
+import java.util.List;
+
+public record ItemDeletedEvent(Collection<Long> itemIds) {
+    public static ItemDeletedEvent of(Long itemId) {
+        return new ItemDeletedEvent(List.of(itemId));
+    }
+}
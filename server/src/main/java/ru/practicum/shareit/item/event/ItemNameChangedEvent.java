@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.event;
+
+public record ItemNameChangedEvent(Long itemId, String name) {
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.event;
+
+import java.util.Collection;
+
+/**
+ * Published after a native update changed item rows without going through their entities.
+ */
+public record ItemsBulkUpdatedEvent(Collection<Long> itemIds) {
+}
@@ -5,10 +5,14 @@ import ru.practicum.shareit.item.model.Comment;
 
 public class CommentMapper {
     public static CommentDto toDto(Comment comment) {
+        return toDto(comment, comment.getAuthor().getName());
+    }
+
+    public static CommentDto toDto(Comment comment, String authorName) {
         CommentDto dto = new CommentDto();
         dto.setId(comment.getId());
         dto.setText(comment.getText());
-        dto.setAuthorName(comment.getAuthor().getName());
+        dto.setAuthorName(authorName);
         dto.setCreated(comment.getCreated());
         return dto;
     }
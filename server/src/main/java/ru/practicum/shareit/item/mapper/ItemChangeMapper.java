@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.mapper;
+
+import ru.practicum.shareit.item.dto.ItemChangeDto;
+import ru.practicum.shareit.item.model.ItemChange;
+
+public class ItemChangeMapper {
+    public static ItemChangeDto toDto(ItemChange change) {
+        ItemChangeDto dto = new ItemChangeDto();
+        dto.setSeq(change.getSeq());
+        dto.setItemId(change.getItemId());
+        dto.setType(change.getType());
+        dto.setChangedAt(change.getChangedAt());
+        return dto;
+    }
+}
@@ -4,6 +4,8 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.List;
+
 public class ItemMapper {
     public static ItemDto toItemDto(Item item) {
         ItemDto itemDto = new ItemDto();
@@ -13,6 +15,8 @@ public class ItemMapper {
         itemDto.setAvailable(item.getAvailable());
         itemDto.setRequestId(item.getRequestId());
         itemDto.setOwnerId(item.getOwner().getId());
+        itemDto.setCommentCount(item.getCommentCount());
+        itemDto.setLastCommentAt(item.getLastCommentAt());
         return itemDto;
     }
 
@@ -33,6 +37,23 @@ public class ItemMapper {
         itemDto.setDescription(item.getDescription());
         itemDto.setAvailable(item.getAvailable());
         itemDto.setRequestId(item.getRequestId());
+        itemDto.setCommentCount(item.getCommentCount());
+        itemDto.setLastCommentAt(item.getLastCommentAt());
+        return itemDto;
+    }
+
+    public static ItemWithBookingsDto copyOf(ItemWithBookingsDto source) {
+        ItemWithBookingsDto itemDto = new ItemWithBookingsDto();
+        itemDto.setId(source.getId());
+        itemDto.setName(source.getName());
+        itemDto.setDescription(source.getDescription());
+        itemDto.setAvailable(source.getAvailable());
+        itemDto.setRequestId(source.getRequestId());
+        itemDto.setLastBooking(source.getLastBooking());
+        itemDto.setNextBooking(source.getNextBooking());
+        itemDto.setComments(source.getComments() == null ? null : List.copyOf(source.getComments()));
+        itemDto.setCommentCount(source.getCommentCount());
+        itemDto.setLastCommentAt(source.getLastCommentAt());
         return itemDto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.model;
+
+public enum ItemChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.popularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "item_popularity")
+public class ItemPopularity {
+    @EmbeddedId
+    private ItemPopularityId id;
+
+    @Column(name = "bookings", nullable = false)
+    private int bookings;
+}
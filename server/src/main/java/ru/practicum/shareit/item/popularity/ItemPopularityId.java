@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.popularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ItemPopularityId implements Serializable {
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate bucketDay;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.popularity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ItemPopularityRepository extends JpaRepository<ItemPopularity, ItemPopularityId> {
+    @Query("SELECT p, i.owner.id FROM ItemPopularity p JOIN Item i ON i.id = p.id.itemId " +
+            "WHERE p.id.bucketDay >= :since")
+    List<Object[]> findAllSinceWithOwner(@Param("since") LocalDate since);
+
+    @Modifying
+    @Query("DELETE FROM ItemPopularity p WHERE p.id.bucketDay < :since")
+    int deleteOlderThan(@Param("since") LocalDate since);
+}
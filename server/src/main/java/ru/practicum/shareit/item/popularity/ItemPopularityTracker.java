@@ -0,0 +1,276 @@
+package ru.practicum.shareit.item.popularity;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.event.BookingDemandChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rolling per-item booking counts over the last {@link #WINDOW_DAYS} days, kept in daily buckets.
+ * Counts change incrementally on booking events and are written back to {@code item_popularity}
+ * periodically, so ranking never has to count bookings. The state is local to one server instance.
+ * Items booked inside the window are also kept ranked per owner, most booked first; the ranking is
+ * rebuilt once a day, when buckets leave the window.
+ */
+@Slf4j
+@Component
+public class ItemPopularityTracker {
+    public static final int WINDOW_DAYS = 30;
+
+    private final ItemPopularityRepository popularityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final Set<ItemPopularityId> dirty = new HashSet<>();
+    private final Map<Long, NavigableSet<Ranked>> rankingByOwner = new HashMap<>();
+    private final Map<Long, Ranked> rankedByItem = new HashMap<>();
+    private long rankedDay = Long.MIN_VALUE;
+
+    public ItemPopularityTracker(ItemPopularityRepository popularityRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.popularityRepository = popularityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = popularityRepository.findAllSinceWithOwner(windowStart(LocalDate.now()));
+        synchronized (this) {
+            for (Object[] row : rows) {
+                ItemPopularity popularity = (ItemPopularity) row[0];
+                counters.computeIfAbsent(popularity.getId().getItemId(), key -> new Counter((Long) row[1]))
+                        .set(popularity.getId().getBucketDay().toEpochDay(), popularity.getBookings());
+            }
+            rankedDay = Long.MIN_VALUE;
+        }
+        log.info("Популярность вещей загружена: {} записей", rows.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDemandChanged(BookingDemandChangedEvent event) {
+        record(event.itemId(), event.ownerId(), event.delta(), LocalDate.now());
+    }
+
+    @EventListener
+    public synchronized void onItemDeleted(ItemDeletedEvent event) {
+        for (Long itemId : event.itemIds()) {
+            counters.remove(itemId);
+            unrank(itemId);
+        }
+    }
+
+    /**
+     * Adds {@code delta} bookings to the item's bucket for {@code day}. A negative delta withdraws
+     * bookings from the most recent non-empty bucket, since that is where they were most likely counted.
+     */
+    synchronized void record(Long itemId, Long ownerId, int delta, LocalDate day) {
+        long epochDay = day.toEpochDay();
+        Counter counter = counters.computeIfAbsent(itemId, key -> new Counter(ownerId));
+        Long touched = delta >= 0
+                ? counter.add(epochDay, delta)
+                : counter.withdraw(epochDay, -delta);
+        if (touched != null) {
+            dirty.add(new ItemPopularityId(itemId, LocalDate.ofEpochDay(touched)));
+        }
+        if (rankedDay == epochDay) {
+            rank(itemId, counter, epochDay);
+        }
+    }
+
+    /**
+     * Returns a page of the owner's ranked items, most booked first and by id among equal counts.
+     * Only items booked inside the window are ranked; {@link #rankedOwnerItemIds} tells which ones.
+     */
+    public List<Long> rankedOwnerItems(Long ownerId, int from, int size) {
+        return rankedOwnerItems(ownerId, from, size, LocalDate.now());
+    }
+
+    synchronized List<Long> rankedOwnerItems(Long ownerId, int from, int size, LocalDate today) {
+        NavigableSet<Ranked> ranking = ranking(ownerId, today);
+        List<Long> page = new ArrayList<>(Math.min(size, Math.max(0, ranking.size() - from)));
+        Iterator<Ranked> iterator = ranking.iterator();
+        for (int skipped = 0; skipped < from && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < size && iterator.hasNext()) {
+            page.add(iterator.next().itemId());
+        }
+        return page;
+    }
+
+    public Set<Long> rankedOwnerItemIds(Long ownerId) {
+        return rankedOwnerItemIds(ownerId, LocalDate.now());
+    }
+
+    synchronized Set<Long> rankedOwnerItemIds(Long ownerId, LocalDate today) {
+        Set<Long> itemIds = new HashSet<>();
+        ranking(ownerId, today).forEach(ranked -> itemIds.add(ranked.itemId()));
+        return itemIds;
+    }
+
+    private NavigableSet<Ranked> ranking(Long ownerId, LocalDate today) {
+        long epochDay = today.toEpochDay();
+        if (rankedDay != epochDay) {
+            rankedByItem.clear();
+            rankingByOwner.clear();
+            counters.forEach((itemId, counter) -> rank(itemId, counter, epochDay));
+            rankedDay = epochDay;
+        }
+        return rankingByOwner.getOrDefault(ownerId, Collections.emptyNavigableSet());
+    }
+
+    private void rank(Long itemId, Counter counter, long epochDay) {
+        unrank(itemId);
+        int score = counter.total(epochDay);
+        if (score > 0 && counter.ownerId != null) {
+            Ranked ranked = new Ranked(itemId, counter.ownerId, score);
+            rankedByItem.put(itemId, ranked);
+            rankingByOwner.computeIfAbsent(counter.ownerId, key -> new TreeSet<>(RANKING_ORDER)).add(ranked);
+        }
+    }
+
+    private void unrank(Long itemId) {
+        Ranked ranked = rankedByItem.remove(itemId);
+        if (ranked != null) {
+            NavigableSet<Ranked> ranking = rankingByOwner.get(ranked.ownerId());
+            ranking.remove(ranked);
+            if (ranking.isEmpty()) {
+                rankingByOwner.remove(ranked.ownerId());
+            }
+        }
+    }
+
+    public Map<Long, Integer> scores(Collection<Long> itemIds) {
+        return scores(itemIds, LocalDate.now());
+    }
+
+    synchronized Map<Long, Integer> scores(Collection<Long> itemIds, LocalDate today) {
+        long epochDay = today.toEpochDay();
+        Map<Long, Integer> result = new HashMap<>();
+        for (Long itemId : itemIds) {
+            Counter counter = counters.get(itemId);
+            result.put(itemId, counter == null ? 0 : counter.total(epochDay));
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${shareit.popularity.flush-cron:0 */5 * * * *}")
+    public void flush() {
+        flush(LocalDate.now());
+    }
+
+    void flush(LocalDate today) {
+        List<ItemPopularity> rows = new ArrayList<>();
+        synchronized (this) {
+            long windowStart = windowStart(today).toEpochDay();
+            for (ItemPopularityId id : dirty) {
+                long day = id.getBucketDay().toEpochDay();
+                Counter counter = counters.get(id.getItemId());
+                if (counter != null && day >= windowStart) {
+                    rows.add(new ItemPopularity(id, counter.get(day)));
+                }
+            }
+            dirty.clear();
+            counters.values().removeIf(counter -> counter.total(today.toEpochDay()) == 0);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                popularityRepository.saveAll(rows);
+                popularityRepository.deleteOlderThan(windowStart(today));
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                rows.forEach(row -> dirty.add(row.getId()));
+            }
+            throw e;
+        }
+    }
+
+    private static LocalDate windowStart(LocalDate today) {
+        return today.minusDays(WINDOW_DAYS - 1);
+    }
+
+    private record Ranked(Long itemId, Long ownerId, int score) {
+    }
+
+    private static final Comparator<Ranked> RANKING_ORDER = Comparator.comparingInt(Ranked::score).reversed()
+            .thenComparing(Ranked::itemId);
+
+    private static final class Counter {
+        private final Long ownerId;
+        private final long[] days = new long[WINDOW_DAYS];
+        private final int[] counts = new int[WINDOW_DAYS];
+
+        Counter(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        Long add(long day, int delta) {
+            int slot = slot(day);
+            if (days[slot] != day) {
+                days[slot] = day;
+                counts[slot] = 0;
+            }
+            counts[slot] += delta;
+            return day;
+        }
+
+        Long withdraw(long today, int amount) {
+            for (long day = today; day > today - WINDOW_DAYS; day--) {
+                int slot = slot(day);
+                if (days[slot] == day && counts[slot] > 0) {
+                    counts[slot] = Math.max(0, counts[slot] - amount);
+                    return day;
+                }
+            }
+            return null;
+        }
+
+        void set(long day, int count) {
+            int slot = slot(day);
+            if (days[slot] <= day) {
+                days[slot] = day;
+                counts[slot] = count;
+            }
+        }
+
+        int get(long day) {
+            int slot = slot(day);
+            return days[slot] == day ? counts[slot] : 0;
+        }
+
+        int total(long today) {
+            int total = 0;
+            for (int slot = 0; slot < WINDOW_DAYS; slot++) {
+                if (days[slot] <= today && days[slot] > today - WINDOW_DAYS) {
+                    total += counts[slot];
+                }
+            }
+            return total;
+        }
+
+        private static int slot(long day) {
+            return (int) Math.floorMod(day, WINDOW_DAYS);
+        }
+    }
+}
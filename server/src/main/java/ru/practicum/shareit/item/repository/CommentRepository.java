@@ -1,12 +1,61 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author u " +
+            "WHERE c.item.id = :itemId AND u.deletedAt IS NULL " +
+            "ORDER BY c.created DESC, c.id DESC " +
+            "LIMIT :size")
+    List<Comment> findLatestByItemId(@Param("itemId") Long itemId, @Param("size") int size);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
-}
\ No newline at end of file
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author u " +
+            "JOIN Comment a ON a.id = :afterId " +
+            "WHERE c.item.id = :itemId AND u.deletedAt IS NULL " +
+            "AND c.created <= a.created " +
+            "AND (c.created < a.created OR c.id < a.id) " +
+            "ORDER BY c.created DESC, c.id DESC " +
+            "LIMIT :size")
+    List<Comment> findLatestByItemIdAfter(@Param("itemId") Long itemId,
+                                          @Param("afterId") Long afterId,
+                                          @Param("size") int size);
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.id IN (SELECT r.id FROM (" +
+            "SELECT l.id AS id, ROW_NUMBER() OVER (PARTITION BY l.item.id ORDER BY l.created DESC, l.id DESC) AS rn " +
+            "FROM Comment l JOIN l.author la WHERE l.item.id IN :itemIds AND la.deletedAt IS NULL) r " +
+            "WHERE r.rn <= :perItem) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findLatestByItemIdIn(@Param("itemIds") List<Long> itemIds, @Param("perItem") int perItem);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"))
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE id IN (" +
+            "SELECT c.id FROM comments c WHERE c.item_id IN (:itemIds) LIMIT :limit)", nativeQuery = true)
+    int purgeChunkByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.id FROM comments c WHERE c.author_id IN (:authorIds) ORDER BY c.id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsByAuthorIds(@Param("authorIds") Collection<Long> authorIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT DISTINCT c.item_id FROM comments c WHERE c.id IN (:ids)", nativeQuery = true)
+    List<Long> findItemIdsByIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"))
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE id IN (:ids)", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.model.ItemChange;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemChangeRepository extends JpaRepository<ItemChange, Long> {
+    @Query("SELECT c FROM ItemChange c " +
+            "WHERE c.seq > :after AND c.changedAt <= :visibleBefore " +
+            "ORDER BY c.seq " +
+            "LIMIT :size")
+    List<ItemChange> findPageAfter(@Param("after") long after,
+                                   @Param("visibleBefore") LocalDateTime visibleBefore,
+                                   @Param("size") int size);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "item_changes"))
+    @Modifying
+    @Query(value = "INSERT INTO item_changes (item_id, change_type, changed_at) " +
+            "SELECT i.id, :type, :changedAt FROM items i WHERE i.id IN (:itemIds) ORDER BY i.id", nativeQuery = true)
+    int recordAll(@Param("itemIds") Collection<Long> itemIds,
+                  @Param("type") String type,
+                  @Param("changedAt") LocalDateTime changedAt);
+}
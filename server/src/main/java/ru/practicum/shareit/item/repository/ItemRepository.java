@@ -1,14 +1,34 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemsBulkUpdatedEvent;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long ownerId);
+    String ITEMS_EVICTED_BY_ID_SPACE = "items_evicted_by_id";
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.owner.id = :ownerId " +
+            "ORDER BY i.id " +
+            "LIMIT :size OFFSET :from")
+    List<Item> findOwnerItemsPage(@Param("ownerId") Long ownerId,
+                                  @Param("from") int from,
+                                  @Param("size") int size);
 
     @Query("SELECT i FROM Item i " +
             "WHERE i.available = true " +
@@ -16,8 +36,95 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
     List<Item> searchAvailableItems(@Param("text") String text);
 
+    List<Item> findAllByIdInAndAvailableTrue(Collection<Long> ids);
+
+    @Query("SELECT i.id, i.name FROM Item i")
+    Stream<Object[]> streamIdsAndNames();
+
     @Query("SELECT i FROM Item i " +
-            "LEFT JOIN FETCH i.owner " +
+            "JOIN FETCH i.owner " +
+            "WHERE i.id IN :ids")
+    List<Item> findAllByIdInWithOwner(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.requestId, i.owner.id, i.commentCount, i.lastCommentAt) " +
+            "FROM Item i " +
             "WHERE i.requestId IN :requestIds")
-    List<Item> findAllByRequestIdInWithOwner(@Param("requestIds") List<Long> requestIds);
-}
\ No newline at end of file
+    List<ItemDto> findDtosByRequestIdIn(@Param("requestIds") List<Long> requestIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.owner.id = :ownerId AND i.available <> :available " +
+            "ORDER BY i.id " +
+            "LIMIT :limit")
+    List<Long> findIdsByOwnerIdAndAvailableNot(@Param("ownerId") Long ownerId,
+                                               @Param("available") Boolean available,
+                                               @Param("limit") int limit);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.owner.id = :ownerId AND i.id IN :itemIds AND i.available <> :available")
+    List<Long> findIdsByOwnerIdAndIdInAndAvailableNot(@Param("ownerId") Long ownerId,
+                                                      @Param("itemIds") Collection<Long> itemIds,
+                                                      @Param("available") Boolean available);
+
+    /**
+     * The query space matches no cached entity, so Hibernate keeps the items region; callers publish
+     * an {@link ItemsBulkUpdatedEvent} to evict the changed ids.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ITEMS_EVICTED_BY_ID_SPACE))
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE items SET is_available = :available " +
+            "WHERE owner_id = :ownerId AND id IN (:itemIds) AND is_available <> :available AND deleted_at IS NULL",
+            nativeQuery = true)
+    int setAvailableForOwnerItems(@Param("ownerId") Long ownerId,
+                                  @Param("itemIds") Collection<Long> itemIds,
+                                  @Param("available") Boolean available);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.owner.id = :ownerId AND i.id NOT IN :excludedIds " +
+            "ORDER BY i.id " +
+            "LIMIT :size OFFSET :from")
+    List<Item> findOwnerItemsPageExcluding(@Param("ownerId") Long ownerId,
+                                           @Param("excludedIds") Collection<Long> excludedIds,
+                                           @Param("from") int from,
+                                           @Param("size") int size);
+
+    @Query(value = "SELECT i.id FROM items i JOIN users u ON u.id = i.owner_id " +
+            "WHERE i.deleted_at IS NULL AND u.deleted_at IS NOT NULL ORDER BY i.id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsOwnedByDeletedUsers(@Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "items"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items SET deleted_at = :deletedAt " +
+            "WHERE id IN (:ids) AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteByIds(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query(value = "SELECT id FROM items WHERE deleted_at IS NOT NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    /**
+     * Recomputes the comment aggregates from the remaining comments; callers evict the items by id.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ITEMS_EVICTED_BY_ID_SPACE))
+    @Modifying
+    @Query(value = "UPDATE items i SET " +
+            "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id), " +
+            "last_comment_at = (SELECT MAX(c.created) FROM comments c WHERE c.item_id = i.id) " +
+            "WHERE i.id IN (:ids)", nativeQuery = true)
+    int recountComments(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "items"))
+    @Modifying
+    @Query(value = "DELETE FROM items WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "items"))
+    @Modifying
+    @Query(value = "UPDATE items SET request_id = NULL WHERE id IN (" +
+            "SELECT i.id FROM items i JOIN requests r ON r.id = i.request_id " +
+            "WHERE r.requestor_id IN (:requestorIds) LIMIT :limit)", nativeQuery = true)
+    int detachChunkFromRequestsOf(@Param("requestorIds") Collection<Long> requestorIds, @Param("limit") int limit);
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree of reference-counted words. A word stays searchable while it has references; removing the
+ * last one leaves its node behind as a routing point only, since BK-tree nodes cannot be unlinked.
+ * {@link #compacted()} builds a tree without such dead nodes.
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+    private int deadSize;
+
+    /**
+     * Adds a reference to {@code word}. Returns {@code true} if the word was not searchable before.
+     */
+    public boolean add(String word) {
+        return add(word, 1);
+    }
+
+    private boolean add(String word, int references) {
+        if (root == null) {
+            root = new Node(word);
+        }
+        Node node = root;
+        while (true) {
+            int distance = Levenshtein.distance(word, node.word);
+            if (distance == 0) {
+                break;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(word);
+                node.children.put(distance, child);
+            }
+            node = child;
+        }
+        boolean revived = node.references == 0;
+        if (revived) {
+            size++;
+            if (node.dead) {
+                deadSize--;
+            }
+            node.dead = false;
+        }
+        node.references += references;
+        return revived;
+    }
+
+    /**
+     * Drops a reference to {@code word}. Returns {@code true} if that was its last one.
+     */
+    public boolean remove(String word) {
+        Node node = root;
+        while (node != null) {
+            int distance = Levenshtein.distance(word, node.word);
+            if (distance == 0) {
+                if (node.references == 0) {
+                    return false;
+                }
+                node.references--;
+                if (node.references > 0) {
+                    return false;
+                }
+                node.dead = true;
+                size--;
+                deadSize++;
+                return true;
+            }
+            node = node.children.get(distance);
+        }
+        return false;
+    }
+
+    public List<Match> search(String word, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> candidates = new ArrayDeque<>();
+        candidates.push(root);
+        while (!candidates.isEmpty()) {
+            Node node = candidates.pop();
+            int distance = Levenshtein.distance(word, node.word);
+            if (distance <= maxDistance && node.references > 0) {
+                matches.add(new Match(node.word, distance));
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                int edge = child.getKey();
+                if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                    candidates.push(child.getValue());
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of searchable words.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of words that lost all their references but still occupy a node.
+     */
+    public int deadSize() {
+        return deadSize;
+    }
+
+    public BkTree compacted() {
+        BkTree compacted = new BkTree();
+        if (root == null) {
+            return compacted;
+        }
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            if (node.references > 0) {
+                compacted.add(node.word, node.references);
+            }
+            node.children.values().forEach(nodes::push);
+        }
+        return compacted;
+    }
+
+    public record Match(String word, int distance) {
+    }
+
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+        private int references;
+        private boolean dead;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
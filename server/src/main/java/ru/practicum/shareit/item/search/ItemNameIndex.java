@@ -0,0 +1,175 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemNameChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typo-tolerant index over item name tokens.
+ * Tokens live in a BK-tree; postings map every token to the items whose name contains it.
+ * Changes are applied once the writing transaction commits, so rolled-back names never reach the tree.
+ * Tree words are reference-counted by the items using them, so a token that loses its last item stops
+ * matching at once. Its node stays in the tree for routing until dead tokens outnumber the live ones;
+ * the tree is then compacted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameIndex {
+    public static final int MAX_RESULTS = 100;
+    static final int MIN_DEAD_TOKENS = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BkTree tree = new BkTree();
+    private final Map<String, Set<Long>> itemsByToken = new HashMap<>();
+    private final Map<Long, Set<String>> tokensByItem = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> rows = itemRepository.streamIdsAndNames()) {
+            rows.forEach(row -> put((Long) row[0], (String) row[1]));
+        }
+        log.info("Индекс названий вещей загружен: {} вещей, {} токенов", tokensByItem.size(), tree.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemNameChanged(ItemNameChangedEvent event) {
+        put(event.itemId(), event.name());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.itemIds().forEach(this::removeUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long itemId, String name) {
+        Set<String> tokens = TextTokenizer.tokenize(name);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(itemId);
+            for (String token : tokens) {
+                tree.add(token);
+                itemsByToken.computeIfAbsent(token, key -> new HashSet<>()).add(itemId);
+            }
+            tokensByItem.put(itemId, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of items whose name has a close token for every query token,
+     * best matches (smallest total edit distance) first.
+     */
+    public List<Long> search(String text) {
+        Set<String> queryTokens = TextTokenizer.tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryToken : queryTokens) {
+                Map<Long, Integer> tokenScores = new HashMap<>();
+                for (BkTree.Match match : tree.search(queryToken, maxDistance(queryToken))) {
+                    for (Long itemId : itemsByToken.get(match.word())) {
+                        tokenScores.merge(itemId, match.distance(), Math::min);
+                    }
+                }
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_RESULTS)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    static int maxDistance(String token) {
+        if (token.length() < 3) {
+            return 0;
+        }
+        return token.length() <= 5 ? 1 : 2;
+    }
+
+    private void removeUnlocked(Long itemId) {
+        Set<String> tokens = tokensByItem.remove(itemId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            tree.remove(token);
+            Set<Long> itemIds = itemsByToken.get(token);
+            itemIds.remove(itemId);
+            if (itemIds.isEmpty()) {
+                itemsByToken.remove(token);
+            }
+        }
+        if (tree.deadSize() > Math.max(MIN_DEAD_TOKENS, tree.size())) {
+            tree = tree.compacted();
+        }
+    }
+
+    int treeSize() {
+        lock.readLock().lock();
+        try {
+            return tree.size() + tree.deadSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<Long, Integer> intersect(Map<Long, Integer> scores, Map<Long, Integer> tokenScores) {
+        Map<Long, Integer> result = new HashMap<>();
+        Map<Long, Integer> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+        Map<Long, Integer> larger = smaller == scores ? tokenScores : scores;
+        for (Map.Entry<Long, Integer> entry : smaller.entrySet()) {
+            Integer other = larger.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemChangeDto;
+
+import java.util.List;
+
+public interface ItemChangeFeedService {
+    List<ItemChangeDto> getChanges(Long after, Integer size);
+}
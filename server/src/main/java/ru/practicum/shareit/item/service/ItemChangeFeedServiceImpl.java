@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemChangeDto;
+import ru.practicum.shareit.item.mapper.ItemChangeMapper;
+import ru.practicum.shareit.item.repository.ItemChangeRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pages through the item change log by sequence number.
+ * Sequence numbers are taken when a change is written, not when it commits, so a slower
+ * transaction can commit a smaller number after a larger one has been read. Entries younger
+ * than the visibility lag are therefore held back, which keeps consumers from skipping them.
+ * This only holds while every writer commits within the lag of taking its timestamps: bulk writers
+ * (availability updates, imports, the purger) record one bounded chunk per transaction, and the lag
+ * must stay above the longest such transaction.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ItemChangeFeedServiceImpl implements ItemChangeFeedService {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ItemChangeRepository itemChangeRepository;
+    private final Duration visibilityLag;
+
+    public ItemChangeFeedServiceImpl(ItemChangeRepository itemChangeRepository,
+                                     @Value("${shareit.item-changes.visibility-lag:PT5S}") Duration visibilityLag) {
+        this.itemChangeRepository = itemChangeRepository;
+        this.visibilityLag = visibilityLag;
+    }
+
+    @Override
+    public List<ItemChangeDto> getChanges(Long after, Integer size) {
+        LocalDateTime visibleBefore = LocalDateTime.now().minus(visibilityLag);
+        return itemChangeRepository.findPageAfter(after, visibleBefore, Math.min(size, MAX_PAGE_SIZE)).stream()
+                .map(ItemChangeMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,249 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.CsvLineParser;
+import ru.practicum.shareit.item.importer.ImportFormat;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemChangeType;
+import ru.practicum.shareit.item.repository.ItemChangeRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameIndex;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.user.cache.UserDirectory;
+import ru.practicum.shareit.user.event.UserActivityEvent;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the import body line by line and inserts items in batches, each batch in its own transaction.
+ * Only the current batch and at most {@link #MAX_REPORTED_ERRORS} errors are kept in memory.
+ * A batch rejected by the database is retried row by row so the failing lines can be reported.
+ */
+@Slf4j
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final UserDirectory userDirectory;
+    private final ItemNameIndex itemNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemImportServiceImpl(ItemRepository itemRepository,
+                                 ItemChangeRepository itemChangeRepository,
+                                 UserDirectory userDirectory,
+                                 ItemNameIndex itemNameIndex,
+                                 ApplicationEventPublisher eventPublisher,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.item-import.batch-size:500}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+        this.userDirectory = userDirectory;
+        this.itemNameIndex = itemNameIndex;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ItemImportResultDto importItems(Long userId, ImportFormat format, InputStream body) {
+        userDirectory.requireExists(userId);
+        ItemImportResultDto result = new ItemImportResultDto();
+        List<PendingItem> batch = new ArrayList<>(batchSize);
+        Map<String, Integer> csvColumns = null;
+        long lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && csvColumns == null) {
+                    csvColumns = parseCsvHeader(line);
+                    continue;
+                }
+                try {
+                    ItemDto itemDto = format == ImportFormat.CSV ? parseCsv(line, csvColumns) : parseJson(line);
+                    validate(itemDto);
+                    batch.add(new PendingItem(lineNumber, itemDto));
+                } catch (ValidationException e) {
+                    addError(result, lineNumber, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    saveBatch(userId, batch, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            addError(result, lineNumber + 1, "Чтение тела запроса прервано: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(userId, batch, result);
+        }
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(new UserActivityEvent(userId));
+        }
+        log.info("Импорт вещей пользователя {}: сохранено {}, ошибок {}", userId, result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void saveBatch(Long userId, List<PendingItem> batch, ItemImportResultDto result) {
+        try {
+            indexAndCount(insert(userId, batch), result);
+        } catch (DataAccessException | TransactionException batchError) {
+            for (PendingItem pending : batch) {
+                try {
+                    indexAndCount(insert(userId, List.of(pending)), result);
+                } catch (DataAccessException | TransactionException e) {
+                    addError(result, pending.line(),
+                            "Не удалось сохранить вещь: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+
+    private List<Item> insert(Long userId, List<PendingItem> batch) {
+        return transactionTemplate.execute(status -> {
+            User owner = userDirectory.getReference(userId);
+            List<Item> items = new ArrayList<>(batch.size());
+            for (PendingItem pending : batch) {
+                Item item = ItemMapper.toItem(pending.itemDto());
+                item.setOwner(owner);
+                items.add(item);
+            }
+            itemRepository.saveAll(items);
+            itemRepository.flush();
+            itemChangeRepository.recordAll(items.stream().map(Item::getId).toList(),
+                    ItemChangeType.CREATED.name(), LocalDateTime.now());
+            entityManager.clear();
+            return items;
+        });
+    }
+
+    private void indexAndCount(List<Item> items, ItemImportResultDto result) {
+        for (Item item : items) {
+            itemNameIndex.put(item.getId(), item.getName());
+            if (item.getRequestId() != null) {
+                eventPublisher.publishEvent(new ItemRequestAnsweredEvent(item.getRequestId(),
+                        item.getId(), item.getName(), item.getOwner().getId()));
+            }
+        }
+        result.setImported(result.getImported() + items.size());
+    }
+
+    private static void addError(ItemImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ItemImportErrorDto(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private ItemDto parseJson(String line) {
+        try {
+            ItemDto itemDto = objectMapper.readValue(line, ItemDto.class);
+            itemDto.setId(null);
+            return itemDto;
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> header = CsvLineParser.parse(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "description", "available")) {
+            if (!columns.containsKey(required)) {
+                throw new ValidationException("В заголовке CSV нет колонки " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static ItemDto parseCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = CsvLineParser.parse(line);
+        if (fields.size() != columns.size()) {
+            throw new ValidationException("Ожидалось полей: " + columns.size() + ", получено: " + fields.size());
+        }
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(fields.get(columns.get("name")));
+        itemDto.setDescription(fields.get(columns.get("description")));
+        itemDto.setAvailable(parseBoolean(fields.get(columns.get("available"))));
+        Integer requestIdColumn = columns.get("requestid");
+        if (requestIdColumn != null && !fields.get(requestIdColumn).isBlank()) {
+            try {
+                itemDto.setRequestId(Long.parseLong(fields.get(requestIdColumn).trim()));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Некорректный requestId: " + fields.get(requestIdColumn));
+            }
+        }
+        return itemDto;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        if (!normalized.equals("true") && !normalized.equals("false")) {
+            throw new ValidationException("Поле available должно быть true или false");
+        }
+        return Boolean.valueOf(normalized);
+    }
+
+    private static void validate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            throw new ValidationException("Название не может быть пустым");
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            throw new ValidationException("Описание не может быть пустым");
+        }
+        if (itemDto.getAvailable() == null) {
+            throw new ValidationException("Статус доступности не может быть пустым");
+        }
+    }
+
+    private record PendingItem(long line, ItemDto itemDto) {
+    }
+}
@@ -1,8 +1,13 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
 import java.util.Map;
@@ -12,16 +17,26 @@ public interface ItemService {
 
     ItemDto updateItem(Long itemId, ItemDto itemDto, Long userId);
 
-    ItemWithBookingsDto getItemById(Long itemId, Long userId);
+    ItemAvailabilityResultDto updateAvailability(ItemAvailabilityDto availabilityDto, Long userId);
 
-    List<ItemWithBookingsDto> getAllUserItems(Long userId);
+    ItemWithBookingsDto getItemById(Long itemId, Long userId, FieldSet fields);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemWithBookingsDto> getAllUserItems(Long userId, Integer from, Integer size, ItemSort sort, FieldSet fields);
+
+    List<ItemWithBookingsDto> getItemsByIds(List<Long> itemIds, Long userId, FieldSet fields);
+
+    List<ItemDto> searchItems(String text, ItemSort sort);
+
+    List<ItemDto> fuzzySearchItems(String text, ItemSort sort);
+
+    List<ItemRequestDto> getSuggestedRequests(Long itemId, Long userId);
 
     void deleteItem(Long itemId, Long userId);
 
     CommentDto addComment(Long itemId, CommentDto commentDto, Long userId);
 
+    List<CommentDto> getItemComments(Long itemId, Long afterCommentId, Integer size);
+
     List<ItemDto> getItemsByRequestId(Long requestId);
 
     Map<Long, List<ItemDto>> getItemsByRequestIds(List<Long> requestIds);
@@ -1,51 +1,102 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.CommentEligibilityCache;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemNameChangedEvent;
+import ru.practicum.shareit.item.event.ItemsBulkUpdatedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemChange;
+import ru.practicum.shareit.item.model.ItemChangeType;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.popularity.ItemPopularityTracker;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemChangeRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameIndex;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.matching.RequestMatcher;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+import ru.practicum.shareit.user.event.UserActivityEvent;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int EMBEDDED_COMMENTS_LIMIT = 10;
+    public static final int MAX_BULK_ITEM_IDS = 1000;
+
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemNameIndex itemNameIndex;
+    private final RequestMatcher requestMatcher;
+    private final ItemDetailCache itemDetailCache;
+    private final CommentEligibilityCache commentEligibilityCache;
+    private final ItemPopularityTracker popularityTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     @Transactional
     public ItemDto createItem(ItemDto itemDto, Long userId) {
-        User owner = findUserOrThrow(userId);
+        User owner = userDirectory.getReference(userId);
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(owner);
         if (itemDto.getRequestId() != null) {
             item.setRequestId(itemDto.getRequestId());
         }
         Item savedItem = itemRepository.save(item);
+        itemChangeRepository.save(new ItemChange(savedItem.getId(), ItemChangeType.CREATED, LocalDateTime.now()));
+        eventPublisher.publishEvent(new ItemNameChangedEvent(savedItem.getId(), savedItem.getName()));
+        if (savedItem.getRequestId() != null) {
+            eventPublisher.publishEvent(new ItemRequestAnsweredEvent(savedItem.getRequestId(),
+                    savedItem.getId(), savedItem.getName(), userId));
+        }
+        eventPublisher.publishEvent(new UserActivityEvent(userId));
         return ItemMapper.toItemDto(savedItem);
     }
 
@@ -64,69 +115,256 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setAvailable(itemDto.getAvailable());
         }
         Item updatedItem = itemRepository.save(existingItem);
+        itemChangeRepository.save(new ItemChange(itemId, ItemChangeType.UPDATED, LocalDateTime.now()));
+        if (itemDto.getName() != null) {
+            eventPublisher.publishEvent(new ItemNameChangedEvent(updatedItem.getId(), updatedItem.getName()));
+        }
+        eventPublisher.publishEvent(ItemChangedEvent.of(itemId));
         return ItemMapper.toItemDto(updatedItem);
     }
 
+    /**
+     * Unless the caller already holds a transaction, every chunk commits in its own, so each batch of
+     * change log entries becomes visible well within the change feed's visibility lag, however many
+     * items the owner has.
+     */
     @Override
-    public ItemWithBookingsDto getItemById(Long itemId, Long userId) {
-        Item item = findItemOrThrow(itemId);
-        ItemWithBookingsDto itemWithBookings = ItemMapper.toItemWithBookingsDto(item);
-        if (item.getOwner().getId().equals(userId)) {
-            addBookingInfoToItem(itemWithBookings, itemId);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ItemAvailabilityResultDto updateAvailability(ItemAvailabilityDto availabilityDto, Long userId) {
+        if (availabilityDto.getAvailable() == null) {
+            throw new ValidationException("Статус доступности не может быть пустым");
+        }
+        List<Long> itemIds = availabilityDto.getItemIds();
+        if (itemIds != null && itemIds.size() > MAX_BULK_ITEM_IDS) {
+            throw new ValidationException("Можно изменить не более " + MAX_BULK_ITEM_IDS + " вещей за запрос");
+        }
+        userDirectory.requireExists(userId);
+        Boolean available = availabilityDto.getAvailable();
+        if (itemIds != null && itemIds.isEmpty()) {
+            return new ItemAvailabilityResultDto(0);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        if (itemIds != null) {
+            List<Long> changedIds = itemRepository.findIdsByOwnerIdAndIdInAndAvailableNot(userId, itemIds, available);
+            return new ItemAvailabilityResultDto(
+                    transactionTemplate.execute(status -> applyAvailability(userId, changedIds, available)));
+        }
+        // Every chunk flips its items, so the next lookup no longer sees them.
+        int updated = 0;
+        List<Long> chunk = itemRepository.findIdsByOwnerIdAndAvailableNot(userId, available, MAX_BULK_ITEM_IDS);
+        while (!chunk.isEmpty()) {
+            List<Long> changedIds = chunk;
+            updated += transactionTemplate.execute(status -> applyAvailability(userId, changedIds, available));
+            chunk = itemRepository.findIdsByOwnerIdAndAvailableNot(userId, available, MAX_BULK_ITEM_IDS);
+        }
+        return new ItemAvailabilityResultDto(updated);
+    }
+
+    private int applyAvailability(Long userId, List<Long> changedIds, Boolean available) {
+        if (changedIds.isEmpty()) {
+            return 0;
+        }
+        int updated = itemRepository.setAvailableForOwnerItems(userId, changedIds, available);
+        eventPublisher.publishEvent(new ItemsBulkUpdatedEvent(changedIds));
+        itemChangeRepository.recordAll(changedIds, ItemChangeType.UPDATED.name(), LocalDateTime.now());
+        eventPublisher.publishEvent(new ItemChangedEvent(changedIds));
+        return updated;
+    }
+
+    @Override
+    public ItemWithBookingsDto getItemById(Long itemId, Long userId, FieldSet fields) {
+        ItemDetailCache.Entry cached = itemDetailCache.get(itemId, () -> loadItemView(itemId));
+        ItemWithBookingsDto itemWithBookings = ItemMapper.copyOf(cached.view());
+        if (fields.includes("comments")) {
+            itemWithBookings.setComments(itemDetailCache.getComments(itemId, () -> loadComments(itemId)).comments());
+        }
+        if (cached.ownerId().equals(userId)) {
+            addBookingInfoToItem(itemWithBookings, itemId, fields);
         }
-        addCommentsToItem(itemWithBookings, itemId);
         return itemWithBookings;
     }
 
+    private ItemDetailCache.Entry loadItemView(Long itemId) {
+        Item item = findItemOrThrow(itemId);
+        return new ItemDetailCache.Entry(item.getOwner().getId(), ItemMapper.toItemWithBookingsDto(item));
+    }
+
+    private ItemDetailCache.Comments loadComments(Long itemId) {
+        List<Comment> comments = commentRepository.findLatestByItemId(itemId, EMBEDDED_COMMENTS_LIMIT);
+        Set<Long> authorIds = comments.stream()
+                .map(comment -> comment.getAuthor().getId())
+                .collect(Collectors.toSet());
+        return new ItemDetailCache.Comments(authorIds, comments.stream()
+                .map(CommentMapper::toDto)
+                .toList());
+    }
+
+    @Override
+    public List<ItemWithBookingsDto> getAllUserItems(Long userId, Integer from, Integer size, ItemSort sort, FieldSet fields) {
+        userDirectory.requireExists(userId);
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        List<Item> items = sort == ItemSort.POPULAR
+                ? findPopularOwnerItemsPage(userId, from, pageSize)
+                : itemRepository.findOwnerItemsPage(userId, from, pageSize);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        return toItemsWithBookings(items, itemIds, fields);
+    }
+
+    /**
+     * Items booked recently come first, in the tracker's per-owner ranking; the rest of the owner's
+     * items follow by id and are paged in SQL, so only one page is ever loaded.
+     */
+    private List<Item> findPopularOwnerItemsPage(Long userId, int from, int size) {
+        List<Long> rankedIds = popularityTracker.rankedOwnerItems(userId, from, size);
+        List<Item> page = new ArrayList<>(size);
+        if (!rankedIds.isEmpty()) {
+            Map<Long, Item> itemsById = itemRepository.findAllByIdInWithOwner(rankedIds).stream()
+                    .collect(Collectors.toMap(Item::getId, item -> item));
+            rankedIds.stream()
+                    .map(itemsById::get)
+                    .filter(Objects::nonNull)
+                    .forEach(page::add);
+        }
+        if (rankedIds.size() == size) {
+            return page;
+        }
+        Set<Long> allRankedIds = popularityTracker.rankedOwnerItemIds(userId);
+        int unrankedFrom = Math.max(0, from - allRankedIds.size());
+        int unrankedSize = size - rankedIds.size();
+        page.addAll(allRankedIds.isEmpty()
+                ? itemRepository.findOwnerItemsPage(userId, unrankedFrom, unrankedSize)
+                : itemRepository.findOwnerItemsPageExcluding(userId, allRankedIds, unrankedFrom, unrankedSize));
+        return page;
+    }
+
     @Override
-    public List<ItemWithBookingsDto> getAllUserItems(Long userId) {
-        findUserOrThrow(userId);
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
+    public List<ItemWithBookingsDto> getItemsByIds(List<Long> itemIds, Long userId, FieldSet fields) {
+        List<Long> uniqueIds = itemIds.stream().distinct().collect(Collectors.toList());
+        if (uniqueIds.size() > MAX_PAGE_SIZE) {
+            throw new ValidationException("Можно запросить не более " + MAX_PAGE_SIZE + " вещей за раз");
+        }
+        if (uniqueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> itemsById = itemRepository.findAllByIdInWithOwner(uniqueIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        List<Item> items = uniqueIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        List<Long> ownedItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        return toItemsWithBookings(items, ownedItemIds, fields);
+    }
+
+    private List<ItemWithBookingsDto> toItemsWithBookings(List<Item> items, List<Long> bookingItemIds,
+                                                         FieldSet fields) {
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
-        Map<Long, List<CommentDto>> commentsByItemId = getCommentsByItemIds(itemIds);
+        Map<Long, List<CommentDto>> commentsByItemId = fields.includes("comments")
+                ? getCommentsByItemIds(itemIds)
+                : Map.of();
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> allLastBookings = bookingRepository.findLastBookingsForItems(itemIds, now);
-        List<Booking> allNextBookings = bookingRepository.findNextBookingsForItems(itemIds, now);
-        Map<Long, Booking> lastBookingMap = allLastBookings.stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-        Map<Long, Booking> nextBookingMap = allNextBookings.stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
+        Map<Long, Booking> lastBookings = bookingItemIds.isEmpty() || !fields.includes("lastBooking")
+                ? Map.of()
+                : indexByItemId(bookingRepository.findLastBookingsForItems(bookingItemIds, now));
+        Map<Long, Booking> nextBookings = bookingItemIds.isEmpty() || !fields.includes("nextBooking")
+                ? Map.of()
+                : indexByItemId(bookingRepository.findNextBookingsForItems(bookingItemIds, now));
         return items.stream()
                 .map(item -> {
                     ItemWithBookingsDto itemWithBookings = ItemMapper.toItemWithBookingsDto(item);
-                    if (lastBookingMap.containsKey(item.getId())) {
-                        itemWithBookings.setLastBooking(BookingMapper.toDto(lastBookingMap.get(item.getId())));
+                    if (lastBookings.containsKey(item.getId())) {
+                        itemWithBookings.setLastBooking(BookingMapper.toDto(lastBookings.get(item.getId())));
                     }
-                    if (nextBookingMap.containsKey(item.getId())) {
-                        itemWithBookings.setNextBooking(BookingMapper.toDto(nextBookingMap.get(item.getId())));
+                    if (nextBookings.containsKey(item.getId())) {
+                        itemWithBookings.setNextBooking(BookingMapper.toDto(nextBookings.get(item.getId())));
+                    }
+                    if (fields.includes("comments")) {
+                        itemWithBookings.setComments(commentsByItemId.getOrDefault(item.getId(), List.of()));
                     }
-                    itemWithBookings.setComments(commentsByItemId.getOrDefault(item.getId(), List.of()));
                     return itemWithBookings;
                 })
                 .collect(Collectors.toList());
     }
 
+    private static Map<Long, Booking> indexByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking,
+                        (first, second) -> first));
+    }
+
     @Override
-    public List<ItemDto> searchItems(String text) {
+    public List<ItemDto> searchItems(String text, ItemSort sort) {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.searchAvailableItems(text).stream()
+        List<Item> items = itemRepository.searchAvailableItems(text);
+        return sortItems(items, sort).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemDto> fuzzySearchItems(String text, ItemSort sort) {
+        List<Long> rankedIds = itemNameIndex.search(text);
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> rankById = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rankById.put(rankedIds.get(i), i);
+        }
+        List<Item> items = itemRepository.findAllByIdInAndAvailableTrue(rankedIds).stream()
+                .sorted(Comparator.comparing(item -> rankById.get(item.getId())))
+                .collect(Collectors.toList());
+        return sortItems(items, sort).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    private List<Item> sortItems(List<Item> items, ItemSort sort) {
+        if (sort != ItemSort.POPULAR || items.size() < 2) {
+            return items;
+        }
+        Map<Long, Integer> scores = popularityTracker.scores(
+                items.stream().map(Item::getId).collect(Collectors.toList()));
+        return items.stream()
+                .sorted(Comparator.<Item, Integer>comparing(item -> scores.get(item.getId())).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemRequestDto> getSuggestedRequests(Long itemId, Long userId) {
+        Item item = findItemOrThrow(itemId);
+        checkItemOwnership(item, userId);
+        List<Long> requestIds = requestMatcher.match(item.getName() + " " + item.getDescription(), userId);
+        if (requestIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, ItemRequest> requestsById = itemRequestRepository.findAllByIdInWithRequestor(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        return requestIds.stream()
+                .map(requestsById::get)
+                .filter(Objects::nonNull)
+                .map(ItemRequestMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public void deleteItem(Long itemId, Long userId) {
         Item item = findItemOrThrow(itemId);
         checkItemOwnership(item, userId);
         itemRepository.deleteById(itemId);
-    }
-
-    private User findUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден"));
+        itemChangeRepository.save(new ItemChange(itemId, ItemChangeType.DELETED, LocalDateTime.now()));
+        eventPublisher.publishEvent(ItemDeletedEvent.of(itemId));
+        eventPublisher.publishEvent(ItemChangedEvent.of(itemId));
+        eventPublisher.publishEvent(new UserActivityEvent(userId));
     }
 
     private Item findItemOrThrow(Long itemId) {
@@ -140,23 +378,29 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void addBookingInfoToItem(ItemWithBookingsDto itemDto, Long itemId) {
+    private void addBookingInfoToItem(ItemWithBookingsDto itemDto, Long itemId, FieldSet fields) {
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> lastBookings = bookingRepository.findLastBooking(itemId, now);
-        if (!lastBookings.isEmpty()) {
-            itemDto.setLastBooking(BookingMapper.toDto(lastBookings.get(0)));
+        if (fields.includes("lastBooking")) {
+            List<Booking> lastBookings = bookingRepository.findLastBooking(itemId, now);
+            if (!lastBookings.isEmpty()) {
+                itemDto.setLastBooking(BookingMapper.toDto(lastBookings.get(0)));
+            }
         }
-        List<Booking> nextBookings = bookingRepository.findNextBooking(itemId, now);
-        if (!nextBookings.isEmpty()) {
-            itemDto.setNextBooking(BookingMapper.toDto(nextBookings.get(0)));
+        if (fields.includes("nextBooking")) {
+            List<Booking> nextBookings = bookingRepository.findNextBooking(itemId, now);
+            if (!nextBookings.isEmpty()) {
+                itemDto.setNextBooking(BookingMapper.toDto(nextBookings.get(0)));
+            }
         }
     }
 
     @Override
     @Transactional
     public CommentDto addComment(Long itemId, CommentDto commentDto, Long userId) {
-        Item item = findItemOrThrow(itemId);
-        User author = findUserOrThrow(userId);
+        // The row lock serialises concurrent comments, so the counter below is never incremented twice from one value.
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с ID " + itemId + " не найдена"));
+        User author = userDirectory.getReference(userId);
         if (!hasUserBookedItem(itemId, userId)) {
             throw new ValidationException("Пользователь " + userId + " не брал эту вещь " + itemId + " в аренду " + LocalDateTime.now());
         }
@@ -167,29 +411,38 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
-        return CommentMapper.toDto(savedComment);
+        item.setCommentCount(item.getCommentCount() + 1);
+        item.setLastCommentAt(savedComment.getCreated());
+        eventPublisher.publishEvent(ItemChangedEvent.of(itemId));
+        eventPublisher.publishEvent(new UserActivityEvent(userId));
+        return CommentMapper.toDto(savedComment, userDirectory.getName(userId));
     }
 
     private boolean hasUserBookedItem(Long itemId, Long userId) {
-        LocalDateTime now = LocalDateTime.now();
-        return bookingRepository.findByBookerIdAndItemIdAndEndBefore(userId, itemId, now)
-                .stream()
-                .anyMatch(booking -> booking.getStatus() == BookingStatus.APPROVED);
+        return commentEligibilityCache.isEligible(userId, itemId,
+                () -> bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                        userId, itemId, BookingStatus.APPROVED, LocalDateTime.now()));
     }
 
-    private void addCommentsToItem(ItemWithBookingsDto itemDto, Long itemId) {
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        List<CommentDto> commentDtos = comments.stream()
+    @Override
+    public List<CommentDto> getItemComments(Long itemId, Long afterCommentId, Integer size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь с ID " + itemId + " не найдена");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        List<Comment> comments = afterCommentId == null
+                ? commentRepository.findLatestByItemId(itemId, pageSize)
+                : commentRepository.findLatestByItemIdAfter(itemId, afterCommentId, pageSize);
+        return comments.stream()
                 .map(CommentMapper::toDto)
                 .collect(Collectors.toList());
-        itemDto.setComments(commentDtos);
     }
 
     private Map<Long, List<CommentDto>> getCommentsByItemIds(List<Long> itemIds) {
         if (itemIds.isEmpty()) {
             return Map.of();
         }
-        return commentRepository.findByItemIdIn(itemIds)
+        return commentRepository.findLatestByItemIdIn(itemIds, EMBEDDED_COMMENTS_LIMIT)
                 .stream()
                 .collect(Collectors.groupingBy(
                         comment -> comment.getItem().getId(),
@@ -199,10 +452,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getItemsByRequestId(Long requestId) {
-        List<Item> items = itemRepository.findAllByRequestIdInWithOwner(List.of(requestId));
-        return items.stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        return itemRepository.findDtosByRequestIdIn(List.of(requestId));
     }
 
     @Override
@@ -210,11 +460,7 @@ public class ItemServiceImpl implements ItemService {
         if (requestIds.isEmpty()) {
             return Map.of();
         }
-        List<Item> items = itemRepository.findAllByRequestIdInWithOwner(requestIds);
-        return items.stream()
-                .collect(Collectors.groupingBy(
-                        Item::getRequestId,
-                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())
-                ));
+        return itemRepository.findDtosByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.purge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemsBulkUpdatedEvent;
+import ru.practicum.shareit.item.model.ItemChangeType;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemChangeRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.feed.RequestFeed;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Physically removes soft-deleted items and users together with their dependent rows.
+ * Every statement touches at most {@code chunkSize} rows and runs in its own transaction,
+ * so neither the purge nor concurrent requests hold locks on large ranges.
+ * Deleting a user only marks its row; the items it owns are marked here on the next run.
+ */
+@Slf4j
+@Component
+public class SoftDeletePurger {
+    private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final RequestFeed requestFeed;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SoftDeletePurger(ItemRepository itemRepository,
+                            ItemChangeRepository itemChangeRepository,
+                            UserRepository userRepository,
+                            BookingRepository bookingRepository,
+                            CommentRepository commentRepository,
+                            ItemRequestRepository itemRequestRepository,
+                            RequestFeed requestFeed,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${shareit.purge.chunk-size:500}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+        this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.requestFeed = requestFeed;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${shareit.purge.cron:0 * * * * *}")
+    public void purge() {
+        cascadeOwnerDeletions();
+        int items = purgeItems();
+        int users = purgeUsers();
+        if (users > 0) {
+            requestFeed.reload();
+        }
+        if (items > 0 || users > 0) {
+            log.info("Удалено помеченных вещей: {}, пользователей: {}", items, users);
+        }
+    }
+
+    private void cascadeOwnerDeletions() {
+        int affected;
+        do {
+            affected = inTransaction(this::softDeleteItemsOfDeletedOwners);
+        } while (affected > 0);
+    }
+
+    private int softDeleteItemsOfDeletedOwners() {
+        List<Long> itemIds = itemRepository.findIdsOwnedByDeletedUsers(chunkSize);
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        itemRepository.softDeleteByIds(itemIds, now);
+        itemChangeRepository.recordAll(itemIds, ItemChangeType.DELETED.name(), now);
+        eventPublisher.publishEvent(new ItemDeletedEvent(itemIds));
+        eventPublisher.publishEvent(new ItemChangedEvent(itemIds));
+        return itemIds.size();
+    }
+
+    private int purgeItems() {
+        int purged = 0;
+        List<Long> itemIds;
+        while (!(itemIds = inTransaction(() -> itemRepository.findDeletedIds(chunkSize))).isEmpty()) {
+            List<Long> ids = itemIds;
+            deleteInChunks(() -> commentRepository.purgeChunkByItemIds(ids, chunkSize));
+            deleteInChunks(() -> bookingRepository.purgeChunkByItemIds(ids, chunkSize));
+            purged += inTransaction(() -> itemRepository.purgeByIds(ids));
+        }
+        return purged;
+    }
+
+    private int purgeUsers() {
+        int purged = 0;
+        List<Long> userIds;
+        while (!(userIds = inTransaction(() -> userRepository.findDeletedIds(chunkSize))).isEmpty()) {
+            List<Long> ids = userIds;
+            cascadeOwnerDeletions();
+            purgeItems();
+            deleteInChunks(() -> purgeCommentsOfAuthors(ids));
+            deleteInChunks(() -> bookingRepository.purgeChunkByBookerIds(ids, chunkSize));
+            deleteInChunks(() -> itemRepository.detachChunkFromRequestsOf(ids, chunkSize));
+            deleteInChunks(() -> itemRequestRepository.purgeChunkByRequestorIds(ids, chunkSize));
+            purged += inTransaction(() -> userRepository.purgeByIds(ids));
+        }
+        return purged;
+    }
+
+    /**
+     * Comments of other users' items are removed here, so those items get their comment aggregates
+     * recomputed in the same transaction.
+     */
+    private int purgeCommentsOfAuthors(List<Long> authorIds) {
+        List<Long> commentIds = commentRepository.findIdsByAuthorIds(authorIds, chunkSize);
+        if (commentIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> itemIds = commentRepository.findItemIdsByIds(commentIds);
+        commentRepository.purgeByIds(commentIds);
+        itemRepository.recountComments(itemIds);
+        eventPublisher.publishEvent(new ItemsBulkUpdatedEvent(itemIds));
+        eventPublisher.publishEvent(new ItemChangedEvent(itemIds));
+        return commentIds.size();
+    }
+
+    private void deleteInChunks(Supplier<Integer> chunk) {
+        int affected;
+        do {
+            affected = inTransaction(chunk);
+        } while (affected >= chunkSize);
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -2,9 +2,12 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.dto.RequestAnswerDto;
+import ru.practicum.shareit.request.notification.RequestAnswerNotifier;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.List;
 public class ItemRequestController {
 
     private final ItemRequestService requestService;
+    private final RequestAnswerNotifier answerNotifier;
 
     @PostMapping
     public ItemRequestDto createRequest(@RequestBody CreateItemRequestDto requestDto,
@@ -32,8 +36,17 @@ public class ItemRequestController {
     public List<ItemRequestWithItemsDto> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return requestService.getAllRequests(userId, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Long after) {
+        return requestService.getAllRequests(userId, from, size, after);
+    }
+
+    @GetMapping("/answers")
+    public DeferredResult<List<RequestAnswerDto>> pollAnswers(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "30") Integer timeout) {
+        return answerNotifier.poll(userId, after, timeout);
     }
 
     @GetMapping("/{requestId}")
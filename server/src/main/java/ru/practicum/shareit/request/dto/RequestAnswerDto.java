@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestAnswerDto {
+    private Long id;
+    private Long requestId;
+    private Long itemId;
+    private String itemName;
+    private Long ownerId;
+    private LocalDateTime answeredAt;
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.request.event;
+
+public record ItemRequestAnsweredEvent(Long requestId, Long itemId, String itemName, Long ownerId) {
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.request.event;
+
+import java.time.LocalDateTime;
+
+public record ItemRequestCreatedEvent(Long requestId, Long requestorId, String description, LocalDateTime created) {
+}
@@ -0,0 +1,295 @@
+package ru.practicum.shareit.request.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * The newest {@code capacity} requests with their answering items, newest first, shared by all readers
+ * of {@code /requests/all}. Request, item and user events update it in place once the publishing transaction
+ * commits, so no reader ever sees a request or an answer that might still roll back.
+ * A page that runs past the oldest kept request while older ones were dropped is left to the database.
+ */
+@Slf4j
+@Component
+public class RequestFeed {
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing((Entry entry) -> entry.created).reversed()
+            .thenComparing(Comparator.comparing((Entry entry) -> entry.id).reversed());
+
+    private final ItemRequestRepository requestRepository;
+    private final ItemRepository itemRepository;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private final Map<Long, Long> requestIdByItemId = new HashMap<>();
+    private boolean truncated;
+
+    public RequestFeed(ItemRequestRepository requestRepository,
+                       ItemRepository itemRepository,
+                       @Value("${shareit.request-feed.capacity:500}") int capacity) {
+        this.requestRepository = requestRepository;
+        this.itemRepository = itemRepository;
+        this.capacity = capacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        reload();
+        log.info("Лента запросов загружена: {} запросов", entriesById.size());
+    }
+
+    /**
+     * Replaces the feed with the newest requests from the database. The write lock is held across the
+     * queries, so an event committed meanwhile waits and is applied on top of the fresh state instead of
+     * being overwritten by it.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            List<ItemRequest> requests = requestRepository.findNewest(capacity);
+            Map<Long, List<FeedItem>> items = loadItems(requests.stream().map(ItemRequest::getId).toList());
+            entries.clear();
+            entriesById.clear();
+            requestIdByItemId.clear();
+            for (ItemRequest request : requests) {
+                Entry entry = new Entry(request.getId(), request.getRequestor().getId(),
+                        request.getDescription(), request.getCreated());
+                entries.addLast(entry);
+                entriesById.put(entry.id, entry);
+                setItemsUnlocked(entry, items.getOrDefault(entry.id, List.of()));
+            }
+            truncated = requests.size() >= capacity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the page of other users' requests starting after {@code afterRequestId}, or skipping
+     * {@code from} of them when no cursor is given. Empty if the feed cannot answer it exactly.
+     */
+    public Optional<List<ItemRequestWithItemsDto>> page(Long userId, int from, int size, Long afterRequestId) {
+        lock.readLock().lock();
+        try {
+            if (afterRequestId != null && !entriesById.containsKey(afterRequestId)) {
+                return Optional.empty();
+            }
+            Iterator<Entry> iterator = entries.iterator();
+            if (afterRequestId != null) {
+                Entry cursor;
+                do {
+                    cursor = iterator.next();
+                } while (!cursor.id.equals(afterRequestId));
+            }
+            int toSkip = afterRequestId == null ? from : 0;
+            List<ItemRequestWithItemsDto> page = new ArrayList<>(size);
+            while (iterator.hasNext() && page.size() < size) {
+                Entry entry = iterator.next();
+                if (entry.requestorId.equals(userId)) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                page.add(entry.toDto());
+            }
+            if (page.size() < size && truncated) {
+                return Optional.empty();
+            }
+            return Optional.of(page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestCreated(ItemRequestCreatedEvent event) {
+        Entry entry = new Entry(event.requestId(), event.requestorId(), event.description(), event.created());
+        lock.writeLock().lock();
+        try {
+            if (entriesById.containsKey(entry.id)) {
+                return;
+            }
+            if (entries.isEmpty() || NEWEST_FIRST.compare(entry, entries.peekFirst()) < 0) {
+                entries.addFirst(entry);
+            } else if (entries.size() >= capacity && NEWEST_FIRST.compare(entry, entries.peekLast()) > 0) {
+                return;
+            } else {
+                List<Entry> sorted = new ArrayList<>(entries);
+                sorted.add(entry);
+                sorted.sort(NEWEST_FIRST);
+                entries.clear();
+                entries.addAll(sorted);
+            }
+            entriesById.put(entry.id, entry);
+            while (entries.size() > capacity) {
+                Entry evicted = entries.removeLast();
+                entriesById.remove(evicted.id);
+                evicted.items.forEach(item -> requestIdByItemId.remove(item.id()));
+                truncated = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestAnswered(ItemRequestAnsweredEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entriesById.get(event.requestId());
+            if (entry == null || requestIdByItemId.containsKey(event.itemId())) {
+                return;
+            }
+            List<FeedItem> items = new ArrayList<>(entry.items);
+            items.add(new FeedItem(event.itemId(), event.itemName(), event.ownerId()));
+            setItemsUnlocked(entry, items);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        refreshItems(event.itemIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.requestorId.equals(event.userId())) {
+                    iterator.remove();
+                    entriesById.remove(entry.id);
+                    entry.items.forEach(item -> requestIdByItemId.remove(item.id()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refreshItems(Collection<Long> itemIds) {
+        Set<Long> requestIds = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Long itemId : itemIds) {
+                Long requestId = requestIdByItemId.get(itemId);
+                if (requestId != null) {
+                    requestIds.add(requestId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (requestIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, List<FeedItem>> items = loadItems(new ArrayList<>(requestIds));
+            for (Long requestId : requestIds) {
+                Entry entry = entriesById.get(requestId);
+                if (entry != null) {
+                    setItemsUnlocked(entry, items.getOrDefault(requestId, List.of()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, List<FeedItem>> loadItems(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepository.findDtosByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(
+                        ItemDto::getRequestId,
+                        Collectors.mapping(
+                                item -> new FeedItem(item.getId(), item.getName(), item.getOwnerId()),
+                                Collectors.toList())
+                ));
+    }
+
+    private void setItemsUnlocked(Entry entry, List<FeedItem> items) {
+        entry.items.forEach(item -> requestIdByItemId.remove(item.id()));
+        entry.items = List.copyOf(items);
+        entry.items.forEach(item -> requestIdByItemId.put(item.id(), entry.id));
+    }
+
+    private record FeedItem(Long id, String name, Long ownerId) {
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final Long requestorId;
+        private final String description;
+        private final LocalDateTime created;
+        private List<FeedItem> items = List.of();
+
+        Entry(Long id, Long requestorId, String description, LocalDateTime created) {
+            this.id = id;
+            this.requestorId = requestorId;
+            this.description = description;
+            this.created = created;
+        }
+
+        ItemRequestWithItemsDto toDto() {
+            ItemRequestWithItemsDto dto = new ItemRequestWithItemsDto();
+            dto.setId(id);
+            dto.setDescription(description);
+            dto.setCreated(created);
+            dto.setItems(items.stream()
+                    .map(item -> {
+                        ItemRequestWithItemsDto.ResponseItemDto responseItem =
+                                new ItemRequestWithItemsDto.ResponseItemDto();
+                        responseItem.setId(item.id());
+                        responseItem.setName(item.name());
+                        responseItem.setOwnerId(item.ownerId());
+                        return responseItem;
+                    })
+                    .collect(Collectors.toList()));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.search.TextTokenizer;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from request description tokens to open requests, i.e. requests
+ * no item has answered yet. Items are matched by looking up their own tokens, so the cost
+ * depends on the item text and the postings it hits, not on the number of requests.
+ * Requests are added and closed once the writing transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMatcher {
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MIN_TOKEN_LENGTH = 3;
+
+    private final ItemRequestRepository requestRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> requestsByToken = new HashMap<>();
+    private final Map<Long, OpenRequest> openRequests = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> rows = requestRepository.streamOpenRequests()) {
+            rows.forEach(row -> put((Long) row[0], (Long) row[1], (String) row[2]));
+        }
+        log.info("Индекс открытых запросов загружен: {} запросов, {} токенов",
+                openRequests.size(), requestsByToken.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestCreated(ItemRequestCreatedEvent event) {
+        put(event.requestId(), event.requestorId(), event.description());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestAnswered(ItemRequestAnsweredEvent event) {
+        remove(event.requestId());
+    }
+
+    public void put(Long requestId, Long requestorId, String description) {
+        Set<String> tokens = tokenize(description);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(requestId);
+            for (String token : tokens) {
+                requestsByToken.computeIfAbsent(token, key -> new HashSet<>()).add(requestId);
+            }
+            openRequests.put(requestId, new OpenRequest(requestorId, tokens));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long requestId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(requestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of open requests sharing tokens with the item text, excluding the owner's own requests.
+     * Requests whose description is covered best come first; ties go to the newer request.
+     */
+    public List<Long> match(String itemText, Long ownerId) {
+        Set<String> itemTokens = tokenize(itemText);
+        if (itemTokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> hits = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String token : itemTokens) {
+                for (Long requestId : requestsByToken.getOrDefault(token, Set.of())) {
+                    hits.merge(requestId, 1, Integer::sum);
+                }
+            }
+            hits.keySet().removeIf(requestId -> openRequests.get(requestId).requestorId().equals(ownerId));
+            hits.keySet().forEach(requestId -> sizes.put(requestId, openRequests.get(requestId).tokens().size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        Comparator<Long> byCoverage = Comparator.comparingDouble(requestId -> (double) hits.get(requestId) / sizes.get(requestId));
+        return hits.keySet().stream()
+                .sorted(byCoverage.reversed()
+                        .thenComparing(Comparator.<Long>reverseOrder()))
+                .limit(MAX_SUGGESTIONS)
+                .collect(Collectors.toList());
+    }
+
+    private void removeUnlocked(Long requestId) {
+        OpenRequest request = openRequests.remove(requestId);
+        if (request == null) {
+            return;
+        }
+        for (String token : request.tokens()) {
+            Set<Long> requestIds = requestsByToken.get(token);
+            if (requestIds != null) {
+                requestIds.remove(requestId);
+                if (requestIds.isEmpty()) {
+                    requestsByToken.remove(token);
+                }
+            }
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        return TextTokenizer.tokenize(text).stream()
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .collect(Collectors.toSet());
+    }
+
+    private record OpenRequest(Long requestorId, Set<String> tokens) {
+    }
+}
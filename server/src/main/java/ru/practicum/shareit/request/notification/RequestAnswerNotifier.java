@@ -0,0 +1,102 @@
+package ru.practicum.shareit.request.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import ru.practicum.shareit.request.dto.RequestAnswerDto;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-poll channel telling requestors about items created for their requests.
+ * Answers are read from the item change log, so {@code id} is the change sequence number and doubles
+ * as the reconnect cursor. A poll with nothing to return parks until an answer for the user commits.
+ * Every read keeps the change feed's visibility lag, so a cursor never passes a change that an older
+ * transaction has yet to commit; an answer therefore wakes its requestor's polls once it is that old.
+ */
+@Component
+public class RequestAnswerNotifier {
+    public static final int MAX_ANSWERS = 100;
+    public static final int MAX_TIMEOUT_SECONDS = 60;
+
+    private final ItemRequestRepository requestRepository;
+    private final UserDirectory userDirectory;
+    private final TaskScheduler taskScheduler;
+    private final Duration visibilityLag;
+
+    private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    public RequestAnswerNotifier(ItemRequestRepository requestRepository,
+                                 UserDirectory userDirectory,
+                                 TaskScheduler taskScheduler,
+                                 @Value("${shareit.item-changes.visibility-lag:PT5S}") Duration visibilityLag) {
+        this.requestRepository = requestRepository;
+        this.userDirectory = userDirectory;
+        this.taskScheduler = taskScheduler;
+        this.visibilityLag = visibilityLag;
+    }
+
+    public DeferredResult<List<RequestAnswerDto>> poll(Long userId, long after, int timeoutSeconds) {
+        userDirectory.requireExists(userId);
+        long timeout = Duration.ofSeconds(Math.min(timeoutSeconds, MAX_TIMEOUT_SECONDS)).toMillis();
+        DeferredResult<List<RequestAnswerDto>> result = new DeferredResult<>(timeout, List.of());
+        Waiter waiter = new Waiter(after, result);
+        waiters.compute(userId, (key, userWaiters) -> {
+            Set<Waiter> updated = userWaiters == null ? ConcurrentHashMap.newKeySet() : userWaiters;
+            updated.add(waiter);
+            return updated;
+        });
+        result.onCompletion(() -> waiters.computeIfPresent(userId, (key, userWaiters) -> {
+            userWaiters.remove(waiter);
+            return userWaiters.isEmpty() ? null : userWaiters;
+        }));
+
+        List<RequestAnswerDto> answers = findAnswers(userId, after);
+        if (!answers.isEmpty()) {
+            result.setResult(answers);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestAnswered(ItemRequestAnsweredEvent event) {
+        requestRepository.findRequestorIdById(event.requestId()).ifPresent(requestorId -> {
+            if (visibilityLag.isZero()) {
+                wake(requestorId);
+            } else {
+                taskScheduler.schedule(() -> wake(requestorId), Instant.now().plus(visibilityLag));
+            }
+        });
+    }
+
+    private void wake(Long requestorId) {
+        Set<Waiter> userWaiters = waiters.get(requestorId);
+        if (userWaiters == null) {
+            return;
+        }
+        for (Waiter waiter : userWaiters) {
+            List<RequestAnswerDto> answers = findAnswers(requestorId, waiter.after());
+            if (!answers.isEmpty()) {
+                waiter.result().setResult(answers);
+            }
+        }
+    }
+
+    private List<RequestAnswerDto> findAnswers(Long userId, long after) {
+        return requestRepository.findAnswersAfter(userId, after, LocalDateTime.now().minus(visibilityLag), MAX_ANSWERS);
+    }
+
+    private record Waiter(long after, DeferredResult<List<RequestAnswerDto>> result) {
+    }
+}
@@ -1,16 +1,90 @@
 package ru.practicum.shareit.request.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.RequestAnswerDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(Long requestorId);
 
-    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requestor.id != :userId ORDER BY ir.created DESC")
-    List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(@Param("userId") Long userId);
-}
\ No newline at end of file
+    @Query("SELECT ir FROM ItemRequest ir " +
+            "JOIN ir.requestor u " +
+            "WHERE u.id != :userId AND u.deletedAt IS NULL " +
+            "ORDER BY ir.created DESC, ir.id DESC " +
+            "LIMIT :size OFFSET :from")
+    List<ItemRequest> findOthersPage(@Param("userId") Long userId,
+                                     @Param("from") int from,
+                                     @Param("size") int size);
+
+    @Query("SELECT ir FROM ItemRequest ir " +
+            "JOIN ir.requestor u " +
+            "JOIN ItemRequest a ON a.id = :afterId " +
+            "WHERE u.id != :userId AND u.deletedAt IS NULL " +
+            "AND ir.created <= a.created " +
+            "AND (ir.created < a.created OR ir.id < a.id) " +
+            "ORDER BY ir.created DESC, ir.id DESC " +
+            "LIMIT :size")
+    List<ItemRequest> findOthersPageAfter(@Param("userId") Long userId,
+                                          @Param("afterId") Long afterId,
+                                          @Param("size") int size);
+
+    @Query("SELECT ir FROM ItemRequest ir " +
+            "JOIN FETCH ir.requestor u " +
+            "WHERE u.deletedAt IS NULL " +
+            "ORDER BY ir.created DESC, ir.id DESC " +
+            "LIMIT :size")
+    List<ItemRequest> findNewest(@Param("size") int size);
+
+    @Query("SELECT ir.id, u.id, ir.description FROM ItemRequest ir " +
+            "JOIN ir.requestor u " +
+            "WHERE u.deletedAt IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM Item i WHERE i.requestId = ir.id)")
+    Stream<Object[]> streamOpenRequests();
+
+    @Query("SELECT ir FROM ItemRequest ir " +
+            "JOIN FETCH ir.requestor u " +
+            "WHERE ir.id = :requestId AND u.deletedAt IS NULL")
+    Optional<ItemRequest> findByIdWithRequestor(@Param("requestId") Long requestId);
+
+    @Query("SELECT ir FROM ItemRequest ir " +
+            "JOIN FETCH ir.requestor u " +
+            "WHERE ir.id IN :requestIds AND u.deletedAt IS NULL")
+    List<ItemRequest> findAllByIdInWithRequestor(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query("SELECT ir.requestor.id FROM ItemRequest ir WHERE ir.id = :requestId")
+    Optional<Long> findRequestorIdById(@Param("requestId") Long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestAnswerDto(" +
+            "c.seq, ir.id, i.id, i.name, i.owner.id, c.changedAt) " +
+            "FROM ItemRequest ir " +
+            "JOIN Item i ON i.requestId = ir.id " +
+            "JOIN ItemChange c ON c.itemId = i.id " +
+            "WHERE ir.requestor.id = :requestorId " +
+            "AND c.type = ru.practicum.shareit.item.model.ItemChangeType.CREATED " +
+            "AND c.seq > :after AND c.changedAt <= :visibleBefore " +
+            "ORDER BY c.seq " +
+            "LIMIT :size")
+    List<RequestAnswerDto> findAnswersAfter(@Param("requestorId") Long requestorId,
+                                            @Param("after") long after,
+                                            @Param("visibleBefore") LocalDateTime visibleBefore,
+                                            @Param("size") int size);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "requests"))
+    @Modifying
+    @Query(value = "DELETE FROM requests WHERE id IN (" +
+            "SELECT r.id FROM requests r WHERE r.requestor_id IN (:requestorIds) LIMIT :limit)", nativeQuery = true)
+    int purgeChunkByRequestorIds(@Param("requestorIds") Collection<Long> requestorIds, @Param("limit") int limit);
+}
@@ -11,7 +11,7 @@ public interface ItemRequestService {
 
     List<ItemRequestWithItemsDto> getUserRequests(Long userId);
 
-    List<ItemRequestWithItemsDto> getAllRequests(Long userId, Integer from, Integer size);
+    List<ItemRequestWithItemsDto> getAllRequests(Long userId, Integer from, Integer size, Long afterRequestId);
 
     ItemRequestWithItemsDto getRequestById(Long requestId, Long userId);
 }
\ No newline at end of file
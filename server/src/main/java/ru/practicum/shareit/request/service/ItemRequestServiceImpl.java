@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -9,63 +10,73 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.feed.RequestFeed;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+import ru.practicum.shareit.user.event.UserActivityEvent;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
 
     private final ItemRequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final ItemService itemService;
+    private final RequestFeed requestFeed;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public ItemRequestDto createRequest(CreateItemRequestDto requestDto, Long userId) {
-        User requestor = findUserOrThrow(userId);
+        User requestor = userDirectory.getReference(userId);
         ItemRequest request = ItemRequestMapper.toEntity(requestDto);
         request.setRequestor(requestor);
         ItemRequest savedRequest = requestRepository.save(request);
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(savedRequest.getId(), userId,
+                savedRequest.getDescription(), savedRequest.getCreated()));
+        eventPublisher.publishEvent(new UserActivityEvent(userId));
         return ItemRequestMapper.toDto(savedRequest);
     }
 
     @Override
     public List<ItemRequestWithItemsDto> getUserRequests(Long userId) {
-        findUserOrThrow(userId);
+        userDirectory.requireExists(userId);
         List<ItemRequest> requests = requestRepository.findAllByRequestorIdOrderByCreatedDesc(userId);
         return enrichRequestsWithItems(requests);
     }
 
     @Override
-    public List<ItemRequestWithItemsDto> getAllRequests(Long userId, Integer from, Integer size) {
-        findUserOrThrow(userId);
-        List<ItemRequest> requests = requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId);
-
-        if (from != null && size != null) {
-            int start = from;
-            int end = Math.min(start + size, requests.size());
-            if (start >= requests.size()) {
-                return Collections.emptyList();
-            }
-            requests = requests.subList(start, end);
+    public List<ItemRequestWithItemsDto> getAllRequests(Long userId, Integer from, Integer size, Long afterRequestId) {
+        userDirectory.requireExists(userId);
+        int pageSize = Math.min(size == null ? DEFAULT_PAGE_SIZE : size, MAX_PAGE_SIZE);
+        int offset = from == null ? 0 : from;
+        Optional<List<ItemRequestWithItemsDto>> cached = requestFeed.page(userId, offset, pageSize, afterRequestId);
+        if (cached.isPresent()) {
+            return cached.get();
         }
+        List<ItemRequest> requests = afterRequestId != null
+                ? requestRepository.findOthersPageAfter(userId, afterRequestId, pageSize)
+                : requestRepository.findOthersPage(userId, offset, pageSize);
         return enrichRequestsWithItems(requests);
     }
 
     @Override
     public ItemRequestWithItemsDto getRequestById(Long requestId, Long userId) {
-        findUserOrThrow(userId);
-        ItemRequest request = requestRepository.findById(requestId)
+        userDirectory.requireExists(userId);
+        ItemRequest request = requestRepository.findByIdWithRequestor(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с ID " + requestId + " не найден"));
 
         List<ItemDto> items = itemService.getItemsByRequestId(requestId);
@@ -91,8 +102,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
-    private User findUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден"));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Bounded cache of existing user ids and names, used to validate the acting user without loading it.
+ * Only users that exist are cached. Entries are evicted when a user is updated or deleted and once more
+ * when that transaction completes, so a lookup made while the change is in flight is not kept.
+ */
+@Component
+public class UserDirectory {
+    private final UserRepository userRepository;
+    private final Cache<Long, String> names;
+
+    public UserDirectory(UserRepository userRepository,
+                         @Value("${shareit.user-directory.max-size:100000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public void requireExists(Long userId) {
+        getName(userId);
+    }
+
+    public String getName(Long userId) {
+        String name = names.get(userId, key -> userRepository.findNameById(key).orElse(null));
+        if (name == null) {
+            throw new NotFoundException("Пользователь с ID " + userId + " не найден");
+        }
+        return name;
+    }
+
+    /**
+     * Returns an uninitialized reference for use as an association; it is loaded only if its state is read.
+     */
+    public User getReference(Long userId) {
+        requireExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        names.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onUserUpdateCompleted(UserUpdatedEvent event) {
+        names.invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        names.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onUserDeleteCompleted(UserDeletedEvent event) {
+        names.invalidate(event.userId());
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
+import ru.practicum.shareit.user.event.UserActivityEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of user activity summaries. An entry is evicted when its user creates or deletes
+ * something it counts; changes caused by other users, such as bookings hidden by a deleted item,
+ * show up once the entry expires.
+ */
+@Component
+public class UserSummaryCache {
+    private final Cache<Long, UserSummaryDto> cache;
+
+    public UserSummaryCache(@Value("${shareit.user-summary.ttl:PT30S}") Duration ttl,
+                            @Value("${shareit.user-summary.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public UserSummaryDto get(Long userId, Supplier<UserSummaryDto> loader) {
+        return cache.get(userId, key -> loader.get());
+    }
+
+    @EventListener
+    public void onUserActivity(UserActivityEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onUserActivityCompleted(UserActivityEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache.invalidate(event.userId());
+    }
+}
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.user.dto.UserBulkResultDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
+import ru.practicum.shareit.user.service.UserProvisioningService;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
@@ -12,12 +18,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
 
     @PostMapping
     public UserDto createUser(@RequestBody UserDto userDto) {
         return userService.createUser(userDto);
     }
 
+    @PostMapping("/bulk")
+    public UserBulkResultDto provisionUsers(@RequestBody List<UserDto> users) {
+        return userProvisioningService.provisionUsers(users);
+    }
+
     @PatchMapping("/{userId}")
     public UserDto updateUser(@PathVariable Long userId,
                               @RequestBody UserDto userDto) {
@@ -29,9 +41,22 @@ public class UserController {
         return userService.getUserById(userId);
     }
 
+    @GetMapping("/{userId}/summary")
+    public UserSummaryDto getUserSummary(@PathVariable Long userId) {
+        return userService.getUserSummary(userId);
+    }
+
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public List<UserDto> getAllUsers(@RequestParam(defaultValue = "0") Long after,
+                                     @RequestParam(defaultValue = "100") Integer size) {
+        return userService.getAllUsers(after, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService::exportUsers);
     }
 
     @DeleteMapping("/{userId}")
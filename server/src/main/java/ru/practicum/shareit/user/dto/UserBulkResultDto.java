@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class UserBulkResultDto {
+    private List<UserDto> created = new ArrayList<>();
+    private List<UserBulkConflictDto> conflicts = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private Long userId;
+    private Long itemCount;
+    private Long requestCount;
+    private Long bookingCount;
+    private Long ownerBookingCount;
+    private Long commentCount;
+}
@@ -1,14 +1,53 @@
 package ru.practicum.shareit.user.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    boolean existsByEmail(String email);
+    @Query("SELECT u.name FROM User u WHERE u.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserSummaryDto(u.id, " +
+            "(SELECT COUNT(i) FROM Item i WHERE i.owner.id = u.id), " +
+            "(SELECT COUNT(r) FROM ItemRequest r WHERE r.requestor.id = u.id), " +
+            "(SELECT COUNT(b) FROM Booking b JOIN b.item bi " +
+            "WHERE b.booker.id = u.id AND bi.deletedAt IS NULL), " +
+            "(SELECT COUNT(b) FROM Booking b JOIN b.item bi JOIN b.booker bu " +
+            "WHERE bi.owner.id = u.id AND bi.deletedAt IS NULL AND bu.deletedAt IS NULL), " +
+            "(SELECT COUNT(c) FROM Comment c JOIN c.item ci " +
+            "WHERE c.author.id = u.id AND ci.deletedAt IS NULL)) " +
+            "FROM User u WHERE u.id = :userId")
+    Optional<UserSummaryDto> findSummary(@Param("userId") Long userId);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id LIMIT :size")
+    List<User> findPageAfter(@Param("afterId") long afterId, @Param("size") int size);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) FROM User u ORDER BY u.id")
+    Stream<UserDto> streamAllDtos();
+
+    @Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
 
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.email = :email AND u.id != :excludedId")
-    boolean existsByEmailAndIdNot(@Param("email") String email, @Param("excludedId") Long excludedId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
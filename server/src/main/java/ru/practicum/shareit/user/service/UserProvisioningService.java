@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user.service;
+
+import ru.practicum.shareit.user.dto.UserBulkResultDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+public interface UserProvisioningService {
+    UserBulkResultDto provisionUsers(List<UserDto> users);
+}
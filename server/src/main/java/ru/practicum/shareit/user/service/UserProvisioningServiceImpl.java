@@ -0,0 +1,172 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.dto.UserBulkConflictDto;
+import ru.practicum.shareit.user.dto.UserBulkResultDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates users in bulk. Every row is checked against the {@link UserDto} constraints that guard
+ * single-user creation. Emails are checked against the database with one query for the whole payload,
+ * then the remaining rows are inserted in JDBC batches, each batch in its own transaction.
+ * A batch rejected by the database (an email taken in the meantime) is retried row by row.
+ */
+@Slf4j
+@Service
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+    public static final int MAX_USERS = 10_000;
+    private static final String EMAIL_TAKEN = "Пользователь с таким email уже существует";
+    private static final List<String> VALIDATED_PROPERTIES = List.of("name", "email");
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserProvisioningServiceImpl(UserRepository userRepository,
+                                       EntityManager entityManager,
+                                       Validator validator,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${shareit.user-provisioning.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public UserBulkResultDto provisionUsers(List<UserDto> users) {
+        if (users.size() > MAX_USERS) {
+            throw new ValidationException("За один запрос можно создать не более " + MAX_USERS + " пользователей");
+        }
+        UserBulkResultDto result = new UserBulkResultDto();
+        Map<String, Integer> indexByEmail = new HashMap<>();
+        List<PendingUser> pending = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            UserDto userDto = users.get(i);
+            String error = validate(userDto);
+            if (error != null) {
+                addConflict(result, i, userDto == null ? null : userDto.getEmail(), error);
+                continue;
+            }
+            Integer firstIndex = indexByEmail.putIfAbsent(userDto.getEmail(), i);
+            if (firstIndex != null) {
+                addConflict(result, i, userDto.getEmail(), "Email уже указан в записи " + firstIndex);
+                continue;
+            }
+            pending.add(new PendingUser(i, userDto));
+        }
+
+        Set<String> takenEmails = indexByEmail.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(indexByEmail.keySet()));
+        List<PendingUser> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (PendingUser user : pending) {
+            if (takenEmails.contains(user.userDto().getEmail())) {
+                addConflict(result, user.index(), user.userDto().getEmail(), EMAIL_TAKEN);
+                continue;
+            }
+            batch.add(user);
+            if (batch.size() >= batchSize) {
+                saveBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch, result);
+        }
+        result.getConflicts().sort(Comparator.comparingInt(UserBulkConflictDto::getIndex));
+        log.info("Пакетное создание пользователей: создано {}, отклонено {}",
+                result.getCreated().size(), result.getConflicts().size());
+        return result;
+    }
+
+    private void saveBatch(List<PendingUser> batch, UserBulkResultDto result) {
+        try {
+            addCreated(insert(batch), result);
+        } catch (DataAccessException | TransactionException batchError) {
+            for (PendingUser user : batch) {
+                try {
+                    addCreated(insert(List.of(user)), result);
+                } catch (DataIntegrityViolationException e) {
+                    addConflict(result, user.index(), user.userDto().getEmail(), EMAIL_TAKEN);
+                } catch (DataAccessException | TransactionException e) {
+                    addConflict(result, user.index(), user.userDto().getEmail(),
+                            "Не удалось создать пользователя: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+
+    private List<User> insert(List<PendingUser> batch) {
+        return transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(batch.size());
+            for (PendingUser pending : batch) {
+                User user = UserMapper.toUser(pending.userDto());
+                user.setId(null);
+                users.add(user);
+            }
+            userRepository.saveAll(users);
+            userRepository.flush();
+            entityManager.clear();
+            return users;
+        });
+    }
+
+    private static void addCreated(List<User> users, UserBulkResultDto result) {
+        for (User user : users) {
+            result.getCreated().add(UserMapper.toUserDto(user));
+        }
+    }
+
+    private static void addConflict(UserBulkResultDto result, int index, String email, String message) {
+        result.getConflicts().add(new UserBulkConflictDto(index, email, message));
+    }
+
+    private String validate(UserDto userDto) {
+        if (userDto == null) {
+            return "Пустая запись";
+        }
+        for (String property : VALIDATED_PROPERTIES) {
+            Set<ConstraintViolation<UserDto>> violations = validator.validateProperty(userDto, property);
+            if (!violations.isEmpty()) {
+                // A blank value also fails the format check; report the missing value, as before.
+                return violations.stream()
+                        .min(Comparator.comparing(violation ->
+                                !(violation.getConstraintDescriptor().getAnnotation() instanceof NotBlank)))
+                        .map(ConstraintViolation::getMessage)
+                        .orElseThrow();
+            }
+        }
+        return null;
+    }
+
+    private record PendingUser(int index, UserDto userDto) {
+    }
+}
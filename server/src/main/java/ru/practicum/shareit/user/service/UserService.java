@@ -1,7 +1,10 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
@@ -11,7 +14,11 @@ public interface UserService {
 
     UserDto getUserById(Long userId);
 
-    List<UserDto> getAllUsers();
+    UserSummaryDto getUserSummary(Long userId);
+
+    List<UserDto> getAllUsers(Long afterId, Integer size);
+
+    void exportUsers(OutputStream out) throws IOException;
 
     void deleteUser(Long userId);
 }
\ No newline at end of file
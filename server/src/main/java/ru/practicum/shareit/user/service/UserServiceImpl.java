@@ -1,32 +1,43 @@
 package ru.practicum.shareit.user.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserSummaryCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final UserSummaryCache userSummaryCache;
 
     @Override
     @Transactional
     public UserDto createUser(UserDto userDto) {
-        if (userRepository.existsByEmail(userDto.getEmail())) {
-            throw new ConflictException("Пользователь с email " + userDto.getEmail() + " уже существует");
-        }
         User user = UserMapper.toUser(userDto);
-        User savedUser = userRepository.save(user);
+        User savedUser = userRepository.saveAndFlush(user);
         return UserMapper.toUserDto(savedUser);
     }
 
@@ -34,18 +45,14 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public UserDto updateUser(Long userId, UserDto userDto) {
         User existingUser = findUserOrThrow(userId);
-        if (userDto.getEmail() != null &&
-                !existingUser.getEmail().equals(userDto.getEmail()) &&
-                userRepository.existsByEmailAndIdNot(userDto.getEmail(), userId)) {
-            throw new ConflictException("Email " + userDto.getEmail() + " уже используется другим пользователем");
-        }
         if (userDto.getName() != null) {
             existingUser.setName(userDto.getName());
         }
         if (userDto.getEmail() != null) {
             existingUser.setEmail(userDto.getEmail());
         }
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = userRepository.saveAndFlush(existingUser);
+        eventPublisher.publishEvent(new UserUpdatedEvent(userId));
         return UserMapper.toUserDto(updatedUser);
     }
 
@@ -56,17 +63,35 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
+    public UserSummaryDto getUserSummary(Long userId) {
+        return userSummaryCache.get(userId, () -> userRepository.findSummary(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден")));
+    }
+
+    @Override
+    public List<UserDto> getAllUsers(Long afterId, Integer size) {
+        return userRepository.findPageAfter(afterId, Math.min(size, MAX_PAGE_SIZE)).stream()
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void exportUsers(OutputStream out) throws IOException {
+        try (Stream<UserDto> users = userRepository.streamAllDtos()) {
+            Iterator<UserDto> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+        }
+    }
+
     @Override
     @Transactional
     public void deleteUser(Long userId) {
         findUserOrThrow(userId);
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
     }
 
     private User findUserOrThrow(Long userId) {
@@ -1,7 +1,10 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
 create TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT nextval('users_seq') NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT pk_user PRIMARY KEY (id),
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
@@ -14,13 +17,18 @@ create TABLE IF NOT EXISTS requests (
     CONSTRAINT pk_request PRIMARY KEY (id)
 );
 
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 create TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT nextval('items_seq') NOT NULL,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(1000) NOT NULL,
     is_available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL REFERENCES users(id),
     request_id BIGINT REFERENCES requests(id),
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    last_comment_at TIMESTAMP WITHOUT TIME ZONE,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
@@ -34,6 +42,8 @@ create TABLE IF NOT EXISTS bookings (
     CONSTRAINT pk_booking PRIMARY KEY (id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
+
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text VARCHAR(1000) NOT NULL,
@@ -41,4 +51,53 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT NOT NULL REFERENCES users(id),
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS item_changes (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    item_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    changed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_item_change PRIMARY KEY (seq)
+);
+
+CREATE TABLE IF NOT EXISTS item_popularity (
+    item_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    bookings INT NOT NULL,
+    CONSTRAINT pk_item_popularity PRIMARY KEY (item_id, bucket_day)
+);
+
+-- Databases created before the columns and sequences above existed: every statement is a no-op on a fresh schema.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_comment_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE items i
+SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id),
+    last_comment_at = (SELECT MAX(c.created) FROM comments c WHERE c.item_id = i.id)
+WHERE i.comment_count = 0
+  AND EXISTS (SELECT 1 FROM comments c WHERE c.item_id = i.id);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+-- Hibernate's pooled optimizer hands out the 50 ids below each value it draws, so the sequence has to stay
+-- at least 50 past the highest existing id; GREATEST keeps a restart from ever moving it backwards.
+SELECT setval('users_seq', GREATEST((SELECT last_value FROM users_seq), (SELECT COALESCE(MAX(id), 0) FROM users) + 50));
+SELECT setval('items_seq', GREATEST((SELECT last_value FROM items_seq), (SELECT COALESCE(MAX(id), 0) FROM items) + 50));
+
+CREATE INDEX IF NOT EXISTS idx_item_popularity_bucket_day ON item_popularity (bucket_day);
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_items_deleted ON items (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_bookings_item ON bookings (item_id);
+CREATE INDEX IF NOT EXISTS idx_comments_author ON comments (author_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor ON requests (requestor_id);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_item_changes_item ON item_changes (item_id, seq);
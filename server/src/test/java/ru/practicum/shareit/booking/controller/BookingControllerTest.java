@@ -13,6 +13,7 @@ import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 
@@ -177,44 +178,44 @@ class BookingControllerTest {
 
     @Test
     void getBooking_whenExists_thenReturnBooking() throws Exception {
-        when(bookingService.getBookingById(anyLong(), anyLong())).thenReturn(bookingDto);
+        when(bookingService.getBookingById(anyLong(), anyLong(), any())).thenReturn(bookingDto);
 
         mockMvc.perform(get("/bookings/{bookingId}", 1L)
                         .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(bookingDto.getId().intValue())));
 
-        verify(bookingService, times(1)).getBookingById(eq(1L), eq(2L));
+        verify(bookingService, times(1)).getBookingById(eq(1L), eq(2L), eq(FieldSet.ALL));
     }
 
     @Test
     void getBooking_whenNotFound_thenReturnNotFound() throws Exception {
-        when(bookingService.getBookingById(anyLong(), anyLong()))
+        when(bookingService.getBookingById(anyLong(), anyLong(), any()))
                 .thenThrow(new NotFoundException("Бронирование не найдено"));
 
         mockMvc.perform(get("/bookings/{bookingId}", 999L)
                         .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isNotFound());
 
-        verify(bookingService, times(1)).getBookingById(eq(999L), eq(2L));
+        verify(bookingService, times(1)).getBookingById(eq(999L), eq(2L), eq(FieldSet.ALL));
     }
 
     @Test
     void getBooking_whenAccessDenied_thenReturnNotFound() throws Exception {
-        when(bookingService.getBookingById(anyLong(), anyLong()))
+        when(bookingService.getBookingById(anyLong(), anyLong(), any()))
                 .thenThrow(new NotFoundException("Доступ запрещен"));
 
         mockMvc.perform(get("/bookings/{bookingId}", 1L)
                         .header("X-Sharer-User-Id", 999L))
                 .andExpect(status().isNotFound());
 
-        verify(bookingService, times(1)).getBookingById(eq(1L), eq(999L));
+        verify(bookingService, times(1)).getBookingById(eq(1L), eq(999L), eq(FieldSet.ALL));
     }
 
     @Test
     void getUserBookings_whenAllState_thenReturnBookings() throws Exception {
         List<BookingDto> bookings = List.of(bookingDto);
-        when(bookingService.getUserBookings(anyLong(), any(BookingState.class))).thenReturn(bookings);
+        when(bookingService.getUserBookings(anyLong(), any(BookingState.class), any())).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 2L)
@@ -222,39 +223,56 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.ALL));
+        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.ALL), eq(FieldSet.ALL));
+    }
+
+    @Test
+    void getUserBookings_whenFieldsGiven_thenReturnOnlyRequestedFields() throws Exception {
+        when(bookingService.getUserBookings(anyLong(), any(BookingState.class), any()))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("fields", "status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].status", is("WAITING")))
+                .andExpect(jsonPath("$[0].item").doesNotExist())
+                .andExpect(jsonPath("$[0].booker").doesNotExist());
+
+        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.ALL), eq(FieldSet.of("status")));
     }
 
     @Test
     void getUserBookings_whenDefaultState_thenReturnAllBookings() throws Exception {
         List<BookingDto> bookings = List.of(bookingDto);
-        when(bookingService.getUserBookings(anyLong(), eq(BookingState.ALL))).thenReturn(bookings);
+        when(bookingService.getUserBookings(anyLong(), eq(BookingState.ALL), eq(FieldSet.ALL))).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.ALL));
+        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.ALL), eq(FieldSet.ALL));
     }
 
     @Test
     void getUserBookings_whenCurrentState_thenReturnCurrentBookings() throws Exception {
         List<BookingDto> bookings = List.of(bookingDto);
-        when(bookingService.getUserBookings(anyLong(), eq(BookingState.CURRENT))).thenReturn(bookings);
+        when(bookingService.getUserBookings(anyLong(), eq(BookingState.CURRENT), eq(FieldSet.ALL))).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 2L)
                         .param("state", "CURRENT"))
                 .andExpect(status().isOk());
 
-        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.CURRENT));
+        verify(bookingService, times(1)).getUserBookings(eq(2L), eq(BookingState.CURRENT), eq(FieldSet.ALL));
     }
 
     @Test
     void getOwnerBookings_whenAllState_thenReturnBookings() throws Exception {
         List<BookingDto> bookings = List.of(bookingDto);
-        when(bookingService.getOwnerBookings(anyLong(), any(BookingState.class))).thenReturn(bookings);
+        when(bookingService.getOwnerBookings(anyLong(), any(BookingState.class), any())).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
@@ -262,19 +280,19 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(bookingService, times(1)).getOwnerBookings(eq(1L), eq(BookingState.ALL));
+        verify(bookingService, times(1)).getOwnerBookings(eq(1L), eq(BookingState.ALL), eq(FieldSet.ALL));
     }
 
     @Test
     void getOwnerBookings_whenDefaultState_thenReturnAllBookings() throws Exception {
         List<BookingDto> bookings = List.of(bookingDto);
-        when(bookingService.getOwnerBookings(anyLong(), eq(BookingState.ALL))).thenReturn(bookings);
+        when(bookingService.getOwnerBookings(anyLong(), eq(BookingState.ALL), eq(FieldSet.ALL))).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(bookingService, times(1)).getOwnerBookings(eq(1L), eq(BookingState.ALL));
+        verify(bookingService, times(1)).getOwnerBookings(eq(1L), eq(BookingState.ALL), eq(FieldSet.ALL));
     }
 
     @Test
@@ -283,7 +301,7 @@ class BookingControllerTest {
                         .param("state", "ALL"))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingService, never()).getUserBookings(anyLong(), any(BookingState.class));
+        verify(bookingService, never()).getUserBookings(anyLong(), any(BookingState.class), any());
     }
 
     @Test
@@ -292,6 +310,6 @@ class BookingControllerTest {
                         .param("state", "ALL"))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingService, never()).getOwnerBookings(anyLong(), any(BookingState.class));
+        verify(bookingService, never()).getOwnerBookings(anyLong(), any(BookingState.class), any());
     }
 }
\ No newline at end of file
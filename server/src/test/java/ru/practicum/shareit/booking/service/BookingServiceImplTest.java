@@ -6,18 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.event.BookingDemandChangedEvent;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+import ru.practicum.shareit.user.event.UserActivityEvent;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,7 +42,10 @@ class BookingServiceImplTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -83,7 +91,7 @@ class BookingServiceImplTest {
 
     @Test
     void createBooking_whenValid_thenBookingCreated() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
@@ -92,14 +100,17 @@ class BookingServiceImplTest {
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
         assertEquals(booking.getStatus(), result.getStatus());
-        verify(userRepository).findById(booker.getId());
+        verify(userDirectory).getReference(booker.getId());
         verify(itemRepository).findById(item.getId());
         verify(bookingRepository).save(any(Booking.class));
+        verify(eventPublisher).publishEvent(new BookingDemandChangedEvent(item.getId(), owner.getId(), 1));
+        verify(eventPublisher).publishEvent(new UserActivityEvent(booker.getId()));
+        verify(eventPublisher).publishEvent(new UserActivityEvent(owner.getId()));
     }
 
     @Test
     void createBooking_whenBookOwnItem_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userDirectory.getReference(anyLong())).thenReturn(owner);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
         NotFoundException exception = assertThrows(
@@ -114,7 +125,7 @@ class BookingServiceImplTest {
     @Test
     void createBooking_whenItemNotAvailable_thenThrowValidationException() {
         item.setAvailable(false);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
         ValidationException exception = assertThrows(
@@ -128,21 +139,21 @@ class BookingServiceImplTest {
 
     @Test
     void createBooking_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userDirectory.getReference(anyLong())).thenThrow(new NotFoundException("Пользователь с ID 999 не найден"));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
                 () -> bookingService.createBooking(createBookingDto, 999L)
         );
 
-        assertEquals("Пользователь не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+        verify(userDirectory).getReference(999L);
         verify(itemRepository, never()).findById(anyLong());
     }
 
     @Test
     void createBooking_whenItemNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
@@ -156,34 +167,37 @@ class BookingServiceImplTest {
 
     @Test
     void approveBooking_whenValidApprove_thenBookingApproved() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingDto result = bookingService.approveBooking(booking.getId(), true, owner.getId());
 
         assertNotNull(result);
         assertEquals(BookingStatus.APPROVED, result.getStatus());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
         verify(bookingRepository).save(booking);
+        verify(eventPublisher).publishEvent(ItemChangedEvent.of(item.getId()));
+        verify(eventPublisher, never()).publishEvent(any(BookingDemandChangedEvent.class));
     }
 
     @Test
     void approveBooking_whenValidReject_thenBookingRejected() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingDto result = bookingService.approveBooking(booking.getId(), false, owner.getId());
 
         assertNotNull(result);
         assertEquals(BookingStatus.REJECTED, result.getStatus());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
         verify(bookingRepository).save(booking);
+        verify(eventPublisher).publishEvent(new BookingDemandChangedEvent(item.getId(), owner.getId(), -1));
     }
 
     @Test
     void approveBooking_whenNotOwner_thenThrowValidationException() {
         Long notOwnerId = 999L;
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
 
         ValidationException exception = assertThrows(
                 ValidationException.class,
@@ -191,14 +205,14 @@ class BookingServiceImplTest {
         );
 
         assertEquals("Только владелец вещи может подтвердить бронирование", exception.getMessage());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void approveBooking_whenNotWaitingStatus_thenThrowValidationException() {
         booking.setStatus(BookingStatus.APPROVED);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
 
         ValidationException exception = assertThrows(
                 ValidationException.class,
@@ -206,13 +220,13 @@ class BookingServiceImplTest {
         );
 
         assertEquals("Бронирование уже обработано", exception.getMessage());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void approveBooking_whenBookingNotFound_thenThrowNotFoundException() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -220,70 +234,69 @@ class BookingServiceImplTest {
         );
 
         assertEquals("Бронирование не найдено", exception.getMessage());
-        verify(bookingRepository).findById(999L);
+        verify(bookingRepository).findByIdWithItemAndBooker(999L);
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void getBookingById_whenBookerRequest_thenReturnBooking() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
 
-        BookingDto result = bookingService.getBookingById(booking.getId(), booker.getId());
+        BookingDto result = bookingService.getBookingById(booking.getId(), booker.getId(), FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
     }
 
     @Test
     void getBookingById_whenOwnerRequest_thenReturnBooking() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
 
-        BookingDto result = bookingService.getBookingById(booking.getId(), owner.getId());
+        BookingDto result = bookingService.getBookingById(booking.getId(), owner.getId(), FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
     }
 
     @Test
     void getBookingById_whenNotBookerOrOwner_thenThrowNotFoundException() {
         Long strangerId = 999L;
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.of(booking));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getBookingById(booking.getId(), strangerId)
+                () -> bookingService.getBookingById(booking.getId(), strangerId, FieldSet.ALL)
         );
 
         assertEquals("Доступ запрещен", exception.getMessage());
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findByIdWithItemAndBooker(booking.getId());
     }
 
     @Test
     void getBookingById_whenBookingNotFound_thenThrowNotFoundException() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findByIdWithItemAndBooker(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getBookingById(999L, booker.getId())
+                () -> bookingService.getBookingById(999L, booker.getId(), FieldSet.ALL)
         );
 
         assertEquals("Бронирование не найдено", exception.getMessage());
-        verify(bookingRepository).findById(999L);
+        verify(bookingRepository).findByIdWithItemAndBooker(999L);
     }
 
     @Test
     void getUserBookings_whenAllState_thenReturnAllBookings() {
         List<Booking> bookings = List.of(booking);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong())).thenReturn(bookings);
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.ALL);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.ALL, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository).findById(booker.getId());
+        verify(userDirectory).requireExists(booker.getId());
         verify(bookingRepository).findByBookerIdOrderByStartDesc(booker.getId());
     }
 
@@ -299,10 +312,9 @@ class BookingServiceImplTest {
 
         List<Booking> allBookings = List.of(currentBooking, booking);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong())).thenReturn(allBookings);
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.CURRENT);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.CURRENT, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -311,11 +323,10 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_whenFutureState_thenReturnFutureBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.FUTURE);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.FUTURE, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -324,11 +335,10 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_whenWaitingState_thenReturnWaitingBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.WAITING)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.WAITING);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.WAITING, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -338,11 +348,10 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_whenRejectedState_thenReturnRejectedBookings() {
         booking.setStatus(BookingStatus.REJECTED);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.REJECTED)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.REJECTED);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), BookingState.REJECTED, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -351,41 +360,40 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(anyLong());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getUserBookings(999L, BookingState.ALL)
+                () -> bookingService.getUserBookings(999L, BookingState.ALL, FieldSet.ALL)
         );
 
-        assertEquals("Пользователь не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+        verify(userDirectory).requireExists(999L);
     }
 
     @Test
     void getOwnerBookings_whenAllState_thenReturnAllBookings() {
         List<Booking> bookings = List.of(booking);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(bookingRepository.findByItemOwnerIdOrderByStartDesc(anyLong())).thenReturn(bookings);
 
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.ALL);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.ALL, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository).findById(owner.getId());
+        verify(userDirectory).requireExists(owner.getId());
         verify(bookingRepository).findByItemOwnerIdOrderByStartDesc(owner.getId());
     }
 
     @Test
     void getOwnerBookings_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(anyLong());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getOwnerBookings(999L, BookingState.ALL)
+                () -> bookingService.getOwnerBookings(999L, BookingState.ALL, FieldSet.ALL)
         );
 
-        assertEquals("Пользователь не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+        verify(userDirectory).requireExists(999L);
     }
 }
\ No newline at end of file
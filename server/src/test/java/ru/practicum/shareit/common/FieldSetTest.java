@@ -0,0 +1,54 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSetTest {
+
+    @Test
+    void parse_whenBlank_thenAllFields() {
+        assertSame(FieldSet.ALL, FieldSet.parse(null, ItemWithBookingsDto.class));
+        assertSame(FieldSet.ALL, FieldSet.parse(" ", ItemWithBookingsDto.class));
+        assertTrue(FieldSet.ALL.includes("comments"));
+    }
+
+    @Test
+    void parse_whenFieldsListed_thenIncludeThemAndId() {
+        FieldSet fields = FieldSet.parse("name, available,", ItemWithBookingsDto.class);
+
+        assertTrue(fields.includes("id"));
+        assertTrue(fields.includes("name"));
+        assertFalse(fields.includes("comments"));
+        assertFalse(fields.includesAny("lastBooking", "nextBooking"));
+        assertEquals(FieldSet.of("available", "name"), fields);
+    }
+
+    @Test
+    void parse_whenUnknownField_thenThrowValidationException() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> FieldSet.parse("name,owner", ItemWithBookingsDto.class));
+
+        assertEquals("Неизвестное поле: owner", exception.getMessage());
+    }
+
+    @Test
+    void project_whenFieldsListed_thenKeepOnlyThem() {
+        ItemWithBookingsDto item = new ItemWithBookingsDto();
+        item.setId(1L);
+        item.setName("Дрель");
+        item.setDescription("Мощная");
+        item.setAvailable(true);
+
+        Object projected = FieldSet.of("name").project(List.of(item), new ObjectMapper());
+
+        assertEquals(List.of(Map.of("id", 1L, "name", "Дрель")), projected);
+        assertSame(item, FieldSet.ALL.project(item, new ObjectMapper()));
+    }
+}
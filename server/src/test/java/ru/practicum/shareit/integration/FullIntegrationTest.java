@@ -10,11 +10,13 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.ItemSort;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -100,17 +102,17 @@ class FullIntegrationTest {
         CommentDto comment = itemService.addComment(item.getId(), commentDto, booker.getId());
         assertEquals("Excellent drill, worked perfectly!", comment.getText());
 
-        ItemWithBookingsDto itemWithDetails = itemService.getItemById(item.getId(), owner.getId());
+        ItemWithBookingsDto itemWithDetails = itemService.getItemById(item.getId(), owner.getId(), FieldSet.ALL);
         assertFalse(itemWithDetails.getComments().isEmpty());
         assertEquals(1, itemWithDetails.getComments().size());
 
-        List<BookingDto> userBookings = bookingService.getUserBookings(booker.getId(), ru.practicum.shareit.booking.model.BookingState.ALL);
+        List<BookingDto> userBookings = bookingService.getUserBookings(booker.getId(), ru.practicum.shareit.booking.model.BookingState.ALL, FieldSet.ALL);
         assertFalse(userBookings.isEmpty());
 
-        List<BookingDto> ownerBookings = bookingService.getOwnerBookings(owner.getId(), ru.practicum.shareit.booking.model.BookingState.ALL);
+        List<BookingDto> ownerBookings = bookingService.getOwnerBookings(owner.getId(), ru.practicum.shareit.booking.model.BookingState.ALL, FieldSet.ALL);
         assertFalse(ownerBookings.isEmpty());
 
-        List<ItemDto> searchResults = itemService.searchItems("drill");
+        List<ItemDto> searchResults = itemService.searchItems("drill", ItemSort.DEFAULT);
         assertFalse(searchResults.isEmpty());
 
         ItemDto updateDto = new ItemDto();
@@ -133,7 +135,7 @@ class FullIntegrationTest {
 
         NotFoundException notFoundException = assertThrows(
                 NotFoundException.class,
-                () -> itemService.getItemById(item.getId(), owner.getId())
+                () -> itemService.getItemById(item.getId(), owner.getId(), FieldSet.ALL)
         );
         assertTrue(notFoundException.getMessage().contains("не найдена"));
     }
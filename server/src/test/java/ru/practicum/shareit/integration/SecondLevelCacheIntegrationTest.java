@@ -0,0 +1,179 @@
+package ru.practicum.shareit.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.common.SecondLevelCacheMetrics;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"test", "stats"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheIntegrationTest {
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Long bookerId;
+    private Long firstOwnerId;
+    private Long firstItemId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        bookerId = createUser("booker");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Long ownerId = createUser("owner" + i);
+            Long itemId = createItem("Вещь " + i, ownerId);
+            if (i == 0) {
+                firstOwnerId = ownerId;
+                firstItemId = itemId;
+            }
+            createBooking(itemId, start.plusDays(i));
+        }
+    }
+
+    @Test
+    void getUserBookings_whenCacheWarm_thenItemsAndBookerNotReloaded() {
+        entityManagerFactory.getCache().evictAll();
+        List<BookingDto> cold = measure(this::getUserBookings);
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        List<BookingDto> warm = measure(this::getUserBookings);
+        long warmStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(cold, warm);
+        assertEquals(BOOKINGS, warm.size());
+        assertTrue(coldStatements > BOOKINGS, "cold statements: " + coldStatements);
+        assertEquals(1, warmStatements);
+        assertEquals(BOOKINGS + 1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    void getUserBookings_whenItemAndUserUpdated_thenFreshValuesServed() {
+        getUserBookings();
+
+        ItemDto itemUpdate = new ItemDto();
+        itemUpdate.setName("Перфоратор");
+        itemService.updateItem(firstItemId, itemUpdate, firstOwnerId);
+        UserDto userUpdate = new UserDto();
+        userUpdate.setName("Новое имя");
+        userService.updateUser(bookerId, userUpdate);
+
+        List<BookingDto> bookings = getUserBookings();
+
+        assertTrue(bookings.stream().anyMatch(booking -> booking.getItem().getName().equals("Перфоратор")));
+        assertTrue(bookings.stream().allMatch(booking -> booking.getBooker().getName().equals("Новое имя")));
+    }
+
+    @Test
+    void getUserBookings_whenItemsBulkUpdated_thenOnlyChangedItemEvicted() {
+        getUserBookings();
+
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(false);
+        itemService.updateAvailability(availabilityDto, firstOwnerId);
+        List<BookingDto> bookings = measure(this::getUserBookings);
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics("items").getMissCount());
+        assertEquals(BOOKINGS - 1, statistics.getDomainDataRegionStatistics("items").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertEquals(BOOKINGS, bookings.size());
+        assertFalse(itemService.getItemById(firstItemId, firstOwnerId, FieldSet.ALL).getAvailable());
+    }
+
+    @Test
+    void getUserBookings_whenOwnerDeleted_thenUsersRegionKept() {
+        getUserBookings();
+
+        userService.deleteUser(firstOwnerId);
+        List<BookingDto> bookings = measure(this::getUserBookings);
+
+        assertEquals(0, statistics.getDomainDataRegionStatistics("users").getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertEquals(BOOKINGS, bookings.size());
+    }
+
+    @Test
+    void hitRatioGauge_whenCacheWarm_thenReportsShareOfHits() {
+        entityManagerFactory.getCache().evictAll();
+        measure(this::getUserBookings);
+        getUserBookings();
+
+        double itemsRatio = meterRegistry.get(SecondLevelCacheMetrics.HIT_RATIO).tag("region", "items").gauge().value();
+        double usersRatio = meterRegistry.get(SecondLevelCacheMetrics.HIT_RATIO).tag("region", "users").gauge().value();
+
+        assertEquals(0.5, itemsRatio, 0.001);
+        assertEquals(0.5, usersRatio, 0.001);
+    }
+
+    private <T> T measure(Supplier<T> call) {
+        statistics.clear();
+        return call.get();
+    }
+
+    private List<BookingDto> getUserBookings() {
+        return bookingService.getUserBookings(bookerId, BookingState.ALL, FieldSet.ALL);
+    }
+
+    private void createBooking(Long itemId, LocalDateTime start) {
+        CreateBookingDto bookingDto = new CreateBookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start.toString());
+        bookingDto.setEnd(start.plusHours(1).toString());
+        bookingService.createBooking(bookingDto, bookerId);
+    }
+
+    private Long createItem(String name, Long ownerId) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription("Описание");
+        itemDto.setAvailable(true);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+
+    private Long createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@example.com");
+        return userService.createUser(userDto).getId();
+    }
+}
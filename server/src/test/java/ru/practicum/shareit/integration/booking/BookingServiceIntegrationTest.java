@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -172,7 +173,7 @@ class BookingServiceIntegrationTest {
         createDto.setEnd(LocalDateTime.now().plusDays(2).toString());
         BookingDto createdBooking = bookingService.createBooking(createDto, bookerId);
 
-        BookingDto foundBooking = bookingService.getBookingById(createdBooking.getId(), bookerId);
+        BookingDto foundBooking = bookingService.getBookingById(createdBooking.getId(), bookerId, FieldSet.ALL);
 
         assertEquals(createdBooking.getId(), foundBooking.getId());
         assertEquals(createdBooking.getStatus(), foundBooking.getStatus());
@@ -186,7 +187,7 @@ class BookingServiceIntegrationTest {
         createDto.setEnd(LocalDateTime.now().plusDays(2).toString());
         BookingDto createdBooking = bookingService.createBooking(createDto, bookerId);
 
-        BookingDto foundBooking = bookingService.getBookingById(createdBooking.getId(), ownerId);
+        BookingDto foundBooking = bookingService.getBookingById(createdBooking.getId(), ownerId, FieldSet.ALL);
 
         assertEquals(createdBooking.getId(), foundBooking.getId());
     }
@@ -206,7 +207,7 @@ class BookingServiceIntegrationTest {
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getBookingById(createdBooking.getId(), createdStranger.getId())
+                () -> bookingService.getBookingById(createdBooking.getId(), createdStranger.getId(), FieldSet.ALL)
         );
 
         assertTrue(exception.getMessage().contains("Доступ запрещен"));
@@ -222,7 +223,7 @@ class BookingServiceIntegrationTest {
             bookingService.createBooking(createDto, bookerId);
         }
 
-        List<BookingDto> bookings = bookingService.getUserBookings(bookerId, BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getUserBookings(bookerId, BookingState.ALL, FieldSet.ALL);
 
         assertEquals(3, bookings.size());
     }
@@ -242,7 +243,7 @@ class BookingServiceIntegrationTest {
         BookingDto approvedBooking = bookingService.createBooking(approvedDto, bookerId);
         bookingService.approveBooking(approvedBooking.getId(), true, ownerId);
 
-        List<BookingDto> waitingBookings = bookingService.getUserBookings(bookerId, BookingState.WAITING);
+        List<BookingDto> waitingBookings = bookingService.getUserBookings(bookerId, BookingState.WAITING, FieldSet.ALL);
 
         assertEquals(1, waitingBookings.size());
         assertEquals(BookingStatus.WAITING, waitingBookings.get(0).getStatus());
@@ -258,7 +259,7 @@ class BookingServiceIntegrationTest {
             bookingService.createBooking(createDto, bookerId);
         }
 
-        List<BookingDto> bookings = bookingService.getOwnerBookings(ownerId, BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getOwnerBookings(ownerId, BookingState.ALL, FieldSet.ALL);
 
         assertEquals(3, bookings.size());
     }
@@ -304,13 +305,13 @@ class BookingServiceIntegrationTest {
         BookingDto futureBooking = bookingService.createBooking(futureBookingDto, bookerId);
         bookingService.approveBooking(futureBooking.getId(), true, ownerId);
 
-        List<BookingDto> pastBookings = bookingService.getUserBookings(bookerId, BookingState.PAST);
+        List<BookingDto> pastBookings = bookingService.getUserBookings(bookerId, BookingState.PAST, FieldSet.ALL);
         assertEquals(1, pastBookings.size());
 
-        List<BookingDto> futureBookings = bookingService.getUserBookings(bookerId, BookingState.FUTURE);
+        List<BookingDto> futureBookings = bookingService.getUserBookings(bookerId, BookingState.FUTURE, FieldSet.ALL);
         assertEquals(1, futureBookings.size());
 
-        List<BookingDto> currentBookings = bookingService.getUserBookings(bookerId, BookingState.CURRENT);
+        List<BookingDto> currentBookings = bookingService.getUserBookings(bookerId, BookingState.CURRENT, FieldSet.ALL);
         assertEquals(1, currentBookings.size());
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.integration.item;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CommentQueryCountIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long ownerId;
+    private Long viewerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        ownerId = createUser("owner");
+        viewerId = createUser("viewer");
+    }
+
+    @Test
+    void getItemById_whenMoreComments_thenSameStatementCount() {
+        Long fewCommentsItemId = createItemWithComments(1);
+        Long manyCommentsItemId = createItemWithComments(4);
+
+        long fewCommentsStatements = countStatements(() -> itemService.getItemById(fewCommentsItemId, viewerId, FieldSet.ALL));
+        long manyCommentsStatements = countStatements(() -> itemService.getItemById(manyCommentsItemId, viewerId, FieldSet.ALL));
+
+        assertEquals(fewCommentsStatements, manyCommentsStatements);
+    }
+
+    @Test
+    void getAllUserItems_whenMoreComments_thenSameStatementCount() {
+        createItemWithComments(1);
+        long fewCommentsStatements = countStatements(() -> itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL));
+        createItemWithComments(4);
+        long manyCommentsStatements = countStatements(() -> itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL));
+
+        assertEquals(fewCommentsStatements, manyCommentsStatements);
+    }
+
+    @Test
+    void getAllUserItems_whenItemHasManyComments_thenEmbedsLatestPerItemAndFullCount() {
+        int comments = ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT + 3;
+        Long busyItemId = createItemWithComments(comments);
+        Long quietItemId = createItemWithComments(2);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL)
+                .stream()
+                .collect(Collectors.toMap(ItemWithBookingsDto::getId, item -> item));
+
+        ItemWithBookingsDto busy = items.get(busyItemId);
+        assertEquals(ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT, busy.getComments().size());
+        assertEquals(comments, busy.getCommentCount());
+        assertEquals("Comment " + (comments - 1), busy.getComments().get(0).getText());
+        assertEquals(2, items.get(quietItemId).getComments().size());
+    }
+
+    @Test
+    void getAllUserItems_whenOnlyPlainFieldsRequested_thenSkipEnrichmentQueries() {
+        createItemWithComments(2);
+        FieldSet listFields = FieldSet.of("name", "available");
+
+        long fullStatements = countStatements(() -> itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL));
+        long sparseStatements = countStatements(() -> itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, listFields));
+
+        assertEquals(fullStatements - 3, sparseStatements);
+        ItemWithBookingsDto item = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, listFields).get(0);
+        assertNull(item.getComments());
+        assertNull(item.getLastBooking());
+    }
+
+    @Test
+    void getOwnerBookings_whenItemAndBookerNotRequested_thenSkipAssociationLoads() {
+        createItemWithComments(3);
+
+        long fullStatements = countStatements(() -> bookingService.getOwnerBookings(ownerId, BookingState.ALL, FieldSet.ALL));
+        long sparseStatements = countStatements(() -> bookingService.getOwnerBookings(ownerId, BookingState.ALL, FieldSet.of("status")));
+
+        assertTrue(sparseStatements < fullStatements);
+        assertEquals(1, sparseStatements);
+    }
+
+    @Test
+    void getItemById_whenCommentsLoaded_thenAuthorNamesAvailable() {
+        Long itemId = createItemWithComments(2);
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemWithBookingsDto item = itemService.getItemById(itemId, viewerId, FieldSet.ALL);
+        List<String> authors = item.getComments().stream().map(CommentDto::getAuthorName).toList();
+
+        assertEquals(2, authors.size());
+        assertTrue(authors.stream().allMatch(name -> name.startsWith("author")));
+    }
+
+    private long countStatements(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createItemWithComments(int comments) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.createItem(itemDto, ownerId).getId();
+        for (int i = 0; i < comments; i++) {
+            Long authorId = createUser("author" + itemId + "_" + i);
+            CreateBookingDto bookingDto = new CreateBookingDto();
+            bookingDto.setItemId(itemId);
+            bookingDto.setStart(LocalDateTime.now().minusDays(3).toString());
+            bookingDto.setEnd(LocalDateTime.now().minusDays(2).toString());
+            BookingDto booking = bookingService.createBooking(bookingDto, authorId);
+            bookingService.approveBooking(booking.getId(), true, ownerId);
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            itemService.addComment(itemId, commentDto, authorId);
+        }
+        return itemId;
+    }
+
+    private Long createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@example.com");
+        return userService.createUser(userDto).getId();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.integration.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemChangeDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.ItemChangeType;
+import ru.practicum.shareit.item.service.ItemChangeFeedService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemChangeFeedIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemChangeFeedService itemChangeFeedService;
+
+    @Autowired
+    private UserService userService;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        UserDto ownerDto = new UserDto();
+        ownerDto.setName("Owner");
+        ownerDto.setEmail("owner@example.com");
+        ownerId = userService.createUser(ownerDto).getId();
+    }
+
+    @Test
+    void getChanges_whenItemsWritten_thenReturnChangesInSequenceOrder() {
+        Long firstId = createItem();
+        Long secondId = createItem();
+        ItemDto update = new ItemDto();
+        update.setName("Renamed");
+        itemService.updateItem(firstId, update, ownerId);
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(false);
+        itemService.updateAvailability(availabilityDto, ownerId);
+        itemService.deleteItem(secondId, ownerId);
+
+        List<ItemChangeDto> changes = itemChangeFeedService.getChanges(0L, 100);
+
+        assertEquals(List.of(firstId, secondId, firstId, firstId, secondId, secondId),
+                changes.stream().map(ItemChangeDto::getItemId).toList());
+        assertEquals(List.of(ItemChangeType.CREATED, ItemChangeType.CREATED, ItemChangeType.UPDATED,
+                        ItemChangeType.UPDATED, ItemChangeType.UPDATED, ItemChangeType.DELETED),
+                changes.stream().map(ItemChangeDto::getType).toList());
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).getSeq() > changes.get(i - 1).getSeq());
+        }
+    }
+
+    @Test
+    void getChanges_whenPagedByCursor_thenReturnEachChangeOnce() {
+        for (int i = 0; i < 5; i++) {
+            createItem();
+        }
+
+        List<ItemChangeDto> firstPage = itemChangeFeedService.getChanges(0L, 2);
+        List<ItemChangeDto> secondPage = itemChangeFeedService.getChanges(firstPage.get(1).getSeq(), 2);
+        List<ItemChangeDto> lastPage = itemChangeFeedService.getChanges(secondPage.get(1).getSeq(), 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(1, lastPage.size());
+        assertTrue(itemChangeFeedService.getChanges(lastPage.get(0).getSeq(), 2).isEmpty());
+    }
+
+    private Long createItem() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.integration.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.importer.ImportFormat;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.service.ItemChangeFeedService;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.item-import.batch-size=50")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemImportIntegrationTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemChangeFeedService itemChangeFeedService;
+
+    @Autowired
+    private UserService userService;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        UserDto ownerDto = new UserDto();
+        ownerDto.setName("Shop");
+        ownerDto.setEmail("shop@example.com");
+        ownerId = userService.createUser(ownerDto).getId();
+    }
+
+    @Test
+    void importItems_whenNdjsonSpansSeveralBatches_thenSaveValidLinesAndReportInvalid() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 120; i++) {
+            if (i == 7) {
+                body.append("{\"name\":\"\",\"description\":\"Пусто\",\"available\":true}\n");
+            } else if (i == 64) {
+                body.append("{not json}\n");
+            } else {
+                body.append("{\"name\":\"Перфоратор ").append(i)
+                        .append("\",\"description\":\"Описание\",\"available\":true}\n");
+            }
+        }
+
+        ItemImportResultDto result = itemImportService.importItems(ownerId, ImportFormat.NDJSON, stream(body.toString()));
+
+        assertEquals(118, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(7L, 64L), result.getErrors().stream().map(error -> error.getLine()).toList());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(100, itemService.getAllUserItems(ownerId, 0, 1000, ItemSort.DEFAULT, FieldSet.ALL).size());
+        List<ItemWithBookingsDto> lastPage = itemService.getAllUserItems(ownerId, 100, 100, ItemSort.DEFAULT, FieldSet.ALL);
+        assertEquals(18, lastPage.size());
+        assertFalse(itemService.fuzzySearchItems("перфаратор", ItemSort.DEFAULT).isEmpty());
+        assertEquals(118, itemChangeFeedService.getChanges(0L, 1000).size());
+    }
+
+    @Test
+    void importItems_whenCsvHasQuotedFieldsAndRowRejectedByDatabase_thenReportOnlyFailingLines() {
+        String body = """
+                name,description,available,requestId
+                "Дрель, ударная","Сверлит \"\"бетон\"\"",true,
+                %s,Слишком длинное название,false,
+                Пила,Ручная,TRUE,
+                Тачка,Садовая,maybe,
+                """.formatted("Л".repeat(300));
+
+        ItemImportResultDto result = itemImportService.importItems(ownerId, ImportFormat.CSV, stream(body));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(Set.of(3L, 5L), result.getErrors().stream().map(error -> error.getLine()).collect(Collectors.toSet()));
+        List<ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL);
+        assertEquals(List.of("Дрель, ударная", "Пила"), items.stream().map(ItemWithBookingsDto::getName).toList());
+        assertEquals("Сверлит \"бетон\"", items.get(0).getDescription());
+    }
+
+    @Test
+    void importItems_whenImportedItemUpdated_thenRegularFlowStillWorks() {
+        ItemImportResultDto result = itemImportService.importItems(ownerId, ImportFormat.NDJSON,
+                stream("{\"id\":42,\"name\":\"Шуруповерт\",\"description\":\"Аккумуляторный\",\"available\":true}\n"));
+        assertEquals(1, result.getImported());
+        Long itemId = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL).get(0).getId();
+
+        ItemDto update = new ItemDto();
+        update.setAvailable(false);
+        ItemDto updated = itemService.updateItem(itemId, update, ownerId);
+
+        assertFalse(updated.getAvailable());
+        assertEquals("Шуруповерт", updated.getName());
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenThrowNotFoundException() {
+        assertThrows(NotFoundException.class,
+                () -> itemImportService.importItems(999L, ImportFormat.NDJSON, stream("")));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
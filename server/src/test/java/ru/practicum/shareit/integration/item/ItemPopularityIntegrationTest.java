@@ -0,0 +1,113 @@
+package ru.practicum.shareit.integration.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.popularity.ItemPopularityTracker;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemPopularityIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemPopularityTracker popularityTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+    private Long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("Owner", "owner@example.com");
+        bookerId = createUser("Booker", "booker@example.com");
+    }
+
+    @Test
+    void getAllUserItems_whenSortedByPopularity_thenMostBookedFirst() {
+        Long quietId = createItem("Дрель");
+        Long popularId = createItem("Дрель ударная");
+        Long rejectedId = createItem("Дрель угловая");
+        book(popularId);
+        book(popularId);
+        book(quietId);
+        BookingDto rejected = book(rejectedId);
+        book(rejectedId);
+        bookingService.approveBooking(rejected.getId(), false, ownerId);
+        bookingService.approveBooking(book(rejectedId).getId(), false, ownerId);
+
+        List<ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId, 0, 2, ItemSort.POPULAR, FieldSet.ALL);
+        List<ItemDto> found = itemService.searchItems("дрель", ItemSort.POPULAR);
+
+        assertEquals(List.of(popularId, quietId), items.stream().map(ItemWithBookingsDto::getId).toList());
+        assertEquals(List.of(popularId, quietId, rejectedId), found.stream().map(ItemDto::getId).toList());
+        assertEquals(List.of(quietId, popularId, rejectedId),
+                itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL).stream()
+                        .map(ItemWithBookingsDto::getId).toList());
+    }
+
+    @Test
+    void flush_whenBookingsRecorded_thenCountsPersisted() {
+        Long itemId = createItem("Дрель");
+        book(itemId);
+        book(itemId);
+
+        popularityTracker.flush();
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT SUM(bookings) FROM item_popularity WHERE item_id = ?", Integer.class, itemId));
+    }
+
+    private BookingDto book(Long itemId) {
+        CreateBookingDto bookingDto = new CreateBookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(LocalDateTime.now().plusDays(1).toString());
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2).toString());
+        return bookingService.createBooking(bookingDto, bookerId);
+    }
+
+    private Long createUser(String name, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(email);
+        return userService.createUser(userDto).getId();
+    }
+
+    private Long createItem(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription("Описание");
+        itemDto.setAvailable(true);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+}
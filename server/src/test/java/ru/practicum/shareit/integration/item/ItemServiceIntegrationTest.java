@@ -6,14 +6,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.ItemSort;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +40,9 @@ class ItemServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BookingService bookingService;
+
     private Long ownerId;
     private Long bookerId;
 
@@ -127,7 +140,7 @@ class ItemServiceIntegrationTest {
         createDto.setAvailable(true);
         ItemDto createdItem = itemService.createItem(createDto, ownerId);
 
-        ItemWithBookingsDto foundItem = itemService.getItemById(createdItem.getId(), ownerId);
+        ItemWithBookingsDto foundItem = itemService.getItemById(createdItem.getId(), ownerId, FieldSet.ALL);
 
         assertEquals(createdItem.getId(), foundItem.getId());
         assertEquals(createdItem.getName(), foundItem.getName());
@@ -138,7 +151,7 @@ class ItemServiceIntegrationTest {
     void getItemById_whenItemNotFound_thenThrowNotFoundException() {
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> itemService.getItemById(999L, ownerId)
+                () -> itemService.getItemById(999L, ownerId, FieldSet.ALL)
         );
 
         assertTrue(exception.getMessage().contains("не найдена"));
@@ -158,12 +171,47 @@ class ItemServiceIntegrationTest {
         item2.setAvailable(true);
         itemService.createItem(item2, ownerId);
 
-        List<ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId);
+        List<ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL);
 
         assertNotNull(items);
         assertEquals(2, items.size());
     }
 
+    @Test
+    void getAllUserItems_whenPageRequested_thenReturnOnlyThatPage() {
+        for (int i = 1; i <= 3; i++) {
+            ItemDto item = new ItemDto();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            itemService.createItem(item, ownerId);
+        }
+
+        List<ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId, 1, 1, ItemSort.DEFAULT, FieldSet.ALL);
+
+        assertEquals(1, items.size());
+        assertEquals("Item 2", items.get(0).getName());
+    }
+
+    @Test
+    void getAllUserItems_whenSeveralPastBookings_thenLastBookingIsLatest() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        ItemDto item = itemService.createItem(itemDto, ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        Long olderId = createApprovedBooking(item.getId(), now.minusDays(5), now.minusDays(4));
+        Long latestId = createApprovedBooking(item.getId(), now.minusDays(3), now.minusDays(2));
+
+        List<ItemWithBookingsDto> items = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL);
+
+        assertEquals(1, items.size());
+        assertNotEquals(olderId, latestId);
+        assertEquals(latestId, items.get(0).getLastBooking().getId());
+        assertNull(items.get(0).getNextBooking());
+    }
+
     @Test
     void getAllUserItems_whenUserHasNoItems_thenReturnEmptyList() {
         UserDto otherUser = new UserDto();
@@ -171,7 +219,7 @@ class ItemServiceIntegrationTest {
         otherUser.setEmail("other@example.com");
         UserDto createdUser = userService.createUser(otherUser);
 
-        List<ItemWithBookingsDto> items = itemService.getAllUserItems(createdUser.getId());
+        List<ItemWithBookingsDto> items = itemService.getAllUserItems(createdUser.getId(), 0, 10, ItemSort.DEFAULT, FieldSet.ALL);
 
         assertNotNull(items);
         assertTrue(items.isEmpty());
@@ -197,12 +245,44 @@ class ItemServiceIntegrationTest {
         item3.setAvailable(false);
         itemService.createItem(item3, ownerId);
 
-        List<ItemDto> searchResults = itemService.searchItems("дрель");
+        List<ItemDto> searchResults = itemService.searchItems("дрель", ItemSort.DEFAULT);
 
         assertEquals(1, searchResults.size());
         assertEquals("Дрель аккумуляторная", searchResults.get(0).getName());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void fuzzySearchItems_whenTextMisspelled_thenReturnAvailableItems() {
+        ItemDto item1 = new ItemDto();
+        item1.setName("Дрель аккумуляторная");
+        item1.setDescription("Мощная дрель");
+        item1.setAvailable(true);
+        itemService.createItem(item1, ownerId);
+
+        ItemDto item2 = new ItemDto();
+        item2.setName("Другая дрель");
+        item2.setDescription("Сетевая дрель");
+        item2.setAvailable(false);
+        itemService.createItem(item2, ownerId);
+
+        List<ItemDto> searchResults = itemService.fuzzySearchItems("дрел", ItemSort.DEFAULT);
+
+        assertEquals(1, searchResults.size());
+        assertEquals("Дрель аккумуляторная", searchResults.get(0).getName());
+    }
+
+    @Test
+    void fuzzySearchItems_whenCreatingTransactionNotCommitted_thenItemNotIndexed() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Дрель аккумуляторная");
+        itemDto.setDescription("Мощная дрель");
+        itemDto.setAvailable(true);
+        itemService.createItem(itemDto, ownerId);
+
+        assertTrue(itemService.fuzzySearchItems("дрел", ItemSort.DEFAULT).isEmpty());
+    }
+
     @Test
     void searchItems_whenEmptyText_thenReturnEmptyList() {
         ItemDto item = new ItemDto();
@@ -211,7 +291,7 @@ class ItemServiceIntegrationTest {
         item.setAvailable(true);
         itemService.createItem(item, ownerId);
 
-        List<ItemDto> searchResults = itemService.searchItems("");
+        List<ItemDto> searchResults = itemService.searchItems("", ItemSort.DEFAULT);
 
         assertNotNull(searchResults);
         assertTrue(searchResults.isEmpty());
@@ -229,7 +309,7 @@ class ItemServiceIntegrationTest {
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> itemService.getItemById(createdItem.getId(), ownerId)
+                () -> itemService.getItemById(createdItem.getId(), ownerId, FieldSet.ALL)
         );
 
         assertTrue(exception.getMessage().contains("не найдена"));
@@ -260,7 +340,7 @@ class ItemServiceIntegrationTest {
         ItemDto created = itemService.createItem(createDto, ownerId);
         assertNotNull(created.getId());
 
-        ItemWithBookingsDto found = itemService.getItemById(created.getId(), ownerId);
+        ItemWithBookingsDto found = itemService.getItemById(created.getId(), ownerId, FieldSet.ALL);
         assertEquals(created.getId(), found.getId());
 
         ItemDto updateDto = new ItemDto();
@@ -268,15 +348,147 @@ class ItemServiceIntegrationTest {
         ItemDto updated = itemService.updateItem(created.getId(), updateDto, ownerId);
         assertEquals("Updated Item", updated.getName());
 
-        List<ItemDto> searchResults = itemService.searchItems("Item");
+        List<ItemDto> searchResults = itemService.searchItems("Item", ItemSort.DEFAULT);
         assertFalse(searchResults.isEmpty());
 
-        List<ItemWithBookingsDto> allItems = itemService.getAllUserItems(ownerId);
+        List<ItemWithBookingsDto> allItems = itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL);
         assertFalse(allItems.isEmpty());
 
         itemService.deleteItem(created.getId(), ownerId);
 
         assertThrows(NotFoundException.class,
-                () -> itemService.getItemById(created.getId(), ownerId));
+                () -> itemService.getItemById(created.getId(), ownerId, FieldSet.ALL));
+    }
+
+    @Test
+    void addComment_whenPastBookingRejected_thenThrowValidationException() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.createItem(itemDto, ownerId).getId();
+        LocalDateTime now = LocalDateTime.now();
+        CreateBookingDto bookingDto = new CreateBookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(now.minusDays(3).toString());
+        bookingDto.setEnd(now.minusDays(2).toString());
+        BookingDto booking = bookingService.createBooking(bookingDto, bookerId);
+        bookingService.approveBooking(booking.getId(), false, ownerId);
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Comment");
+
+        assertThrows(ValidationException.class, () -> itemService.addComment(itemId, commentDto, bookerId));
+    }
+
+    @Test
+    void getItemComments_whenPaging_thenReturnNewestFirstWithoutGaps() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.createItem(itemDto, ownerId).getId();
+        LocalDateTime now = LocalDateTime.now();
+        createApprovedBooking(itemId, now.minusDays(3), now.minusDays(2));
+        for (int i = 1; i <= 3; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            itemService.addComment(itemId, commentDto, bookerId);
+        }
+
+        List<CommentDto> firstPage = itemService.getItemComments(itemId, null, 2);
+        List<CommentDto> secondPage = itemService.getItemComments(itemId, firstPage.get(1).getId(), 2);
+        ItemWithBookingsDto item = itemService.getItemById(itemId, bookerId, FieldSet.ALL);
+
+        assertEquals(List.of("Comment 3", "Comment 2"), firstPage.stream().map(CommentDto::getText).toList());
+        assertEquals(List.of("Comment 1"), secondPage.stream().map(CommentDto::getText).toList());
+        assertEquals(3L, item.getCommentCount());
+        assertNotNull(item.getLastCommentAt());
+        assertEquals("Comment 3", item.getComments().get(0).getText());
+        assertEquals(3L, itemService.getAllUserItems(ownerId, 0, 10, ItemSort.DEFAULT, FieldSet.ALL).get(0).getCommentCount());
+    }
+
+    @Test
+    void getItemById_whenItemUpdatedAfterRead_thenReturnFreshView() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.createItem(itemDto, ownerId).getId();
+        itemService.getItemById(itemId, bookerId, FieldSet.ALL);
+
+        ItemDto updateDto = new ItemDto();
+        updateDto.setName("Renamed");
+        itemService.updateItem(itemId, updateDto, ownerId);
+
+        assertEquals("Renamed", itemService.getItemById(itemId, bookerId, FieldSet.ALL).getName());
+    }
+
+    @Test
+    void getItemsByIds_whenSomeOwned_thenBookingsOnlyForOwnedItems() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long ownedId = itemService.createItem(itemDto, ownerId).getId();
+        Long foreignId = itemService.createItem(itemDto, bookerId).getId();
+        LocalDateTime now = LocalDateTime.now();
+        createApprovedBooking(ownedId, now.plusDays(1), now.plusDays(2));
+
+        List<ItemWithBookingsDto> items = itemService.getItemsByIds(List.of(foreignId, 999L, ownedId), ownerId, FieldSet.ALL);
+
+        assertEquals(List.of(foreignId, ownedId), items.stream().map(ItemWithBookingsDto::getId).toList());
+        assertNull(items.get(0).getNextBooking());
+        assertNotNull(items.get(1).getNextBooking());
+    }
+
+    @Test
+    void updateAvailability_whenAllOwnerItems_thenOnlyOwnerItemsChangedAndCachedViewsRefreshed() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long firstId = itemService.createItem(itemDto, ownerId).getId();
+        Long secondId = itemService.createItem(itemDto, ownerId).getId();
+        Long foreignId = itemService.createItem(itemDto, bookerId).getId();
+        itemService.getItemById(firstId, bookerId, FieldSet.ALL);
+
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(false);
+        assertEquals(2, itemService.updateAvailability(availabilityDto, ownerId).getUpdated());
+
+        assertFalse(itemService.getItemById(firstId, bookerId, FieldSet.ALL).getAvailable());
+        assertFalse(itemService.getItemById(secondId, bookerId, FieldSet.ALL).getAvailable());
+        assertTrue(itemService.getItemById(foreignId, bookerId, FieldSet.ALL).getAvailable());
+        assertEquals(0, itemService.updateAvailability(availabilityDto, ownerId).getUpdated());
+    }
+
+    @Test
+    void updateAvailability_whenIdsIncludeForeignItem_thenForeignItemUntouched() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Item");
+        itemDto.setDescription("Description");
+        itemDto.setAvailable(true);
+        Long ownId = itemService.createItem(itemDto, ownerId).getId();
+        Long otherOwnId = itemService.createItem(itemDto, ownerId).getId();
+        Long foreignId = itemService.createItem(itemDto, bookerId).getId();
+
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setItemIds(List.of(ownId, foreignId));
+        availabilityDto.setAvailable(false);
+
+        assertEquals(1, itemService.updateAvailability(availabilityDto, ownerId).getUpdated());
+        assertFalse(itemService.getItemById(ownId, ownerId, FieldSet.ALL).getAvailable());
+        assertTrue(itemService.getItemById(otherOwnId, ownerId, FieldSet.ALL).getAvailable());
+        assertTrue(itemService.getItemById(foreignId, bookerId, FieldSet.ALL).getAvailable());
+    }
+
+    private Long createApprovedBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        CreateBookingDto bookingDto = new CreateBookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start.toString());
+        bookingDto.setEnd(end.toString());
+        BookingDto booking = bookingService.createBooking(bookingDto, bookerId);
+        bookingService.approveBooking(booking.getId(), true, ownerId);
+        return booking.getId();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.integration.purge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.purge.SoftDeletePurger;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.purge.chunk-size=2")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SoftDeleteIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("Owner", "owner@example.com");
+        bookerId = createUser("Booker", "booker@example.com");
+        itemId = createItem(ownerId, null);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            createApprovedBooking(itemId, now.minusDays(10 - i), now.minusDays(9 - i));
+        }
+        for (int i = 0; i < 3; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            itemService.addComment(itemId, commentDto, bookerId);
+        }
+    }
+
+    @Test
+    void deleteItem_whenItemHasHistory_thenHiddenEverywhereUntilPurged() {
+        itemService.deleteItem(itemId, ownerId);
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemById(itemId, bookerId, FieldSet.ALL));
+        assertThrows(NotFoundException.class, () -> itemService.getItemComments(itemId, null, 10));
+        assertTrue(bookingService.getUserBookings(bookerId, BookingState.ALL, FieldSet.ALL).isEmpty());
+        assertTrue(bookingService.getOwnerBookings(ownerId, BookingState.ALL, FieldSet.ALL).isEmpty());
+        assertEquals(5, count("bookings"));
+        assertEquals(1, count("items"));
+
+        purger.purge();
+
+        assertEquals(0, count("bookings"));
+        assertEquals(0, count("comments"));
+        assertEquals(0, count("items"));
+        assertEquals(2, count("users"));
+    }
+
+    @Test
+    void deleteUser_whenUserOwnsItemsAndRequests_thenEmailFreedAndItemsCascadedByPurge() {
+        CreateItemRequestDto requestDto = new CreateItemRequestDto();
+        requestDto.setDescription("Нужна лестница");
+        Long requestId = itemRequestService.createRequest(requestDto, bookerId).getId();
+        Long answerId = createItem(ownerId, requestId);
+        Long bookerItemId = createItem(bookerId, null);
+
+        userService.deleteUser(bookerId);
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(bookerId));
+        assertNull(jdbcTemplate.queryForObject("SELECT deleted_at FROM items WHERE id = ?",
+                LocalDateTime.class, bookerItemId));
+        assertTrue(itemService.getItemById(itemId, ownerId, FieldSet.ALL).getComments().isEmpty());
+        assertTrue(bookingService.getOwnerBookings(ownerId, BookingState.ALL, FieldSet.ALL).isEmpty());
+        assertThrows(NotFoundException.class, () -> itemRequestService.getRequestById(requestId, ownerId));
+        assertTrue(itemRequestService.getAllRequests(ownerId, 0, 10, null).isEmpty());
+        assertNotNull(createUser("Booker again", "booker@example.com"));
+
+        purger.purge();
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemById(bookerItemId, ownerId, FieldSet.ALL));
+        assertEquals(0, count("bookings"));
+        assertEquals(0, count("comments"));
+        assertEquals(0, count("requests"));
+        assertEquals(2, count("items"));
+        assertNull(itemService.getItemById(answerId, ownerId, FieldSet.ALL).getRequestId());
+        ItemWithBookingsDto commentedItem = itemService.getItemById(itemId, ownerId, FieldSet.ALL);
+        assertEquals(0L, commentedItem.getCommentCount());
+        assertNull(commentedItem.getLastCommentAt());
+        assertEquals(2, count("users"));
+    }
+
+    @Test
+    void purge_whenNothingDeleted_thenKeepAllRows() {
+        purger.purge();
+
+        assertEquals(5, count("bookings"));
+        assertEquals(3, count("comments"));
+        assertEquals(1, count("items"));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private Long createUser(String name, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(email);
+        return userService.createUser(userDto).getId();
+    }
+
+    private Long createItem(Long userId, Long requestId) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Лестница");
+        itemDto.setDescription("Стремянка");
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(requestId);
+        return itemService.createItem(itemDto, userId).getId();
+    }
+
+    private void createApprovedBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        CreateBookingDto bookingDto = new CreateBookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start.toString());
+        bookingDto.setEnd(end.toString());
+        BookingDto booking = bookingService.createBooking(bookingDto, bookerId);
+        bookingService.approveBooking(booking.getId(), true, ownerId);
+    }
+}
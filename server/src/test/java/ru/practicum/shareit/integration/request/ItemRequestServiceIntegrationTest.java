@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -13,10 +14,15 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.matching.RequestMatcher;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +42,9 @@ class ItemRequestServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
     private Long requestorId;
     private Long otherUserId;
     private Long ownerId;
@@ -95,6 +104,7 @@ class ItemRequestServiceIntegrationTest {
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void getAllRequests_whenMultipleUsersHaveRequests_thenReturnOtherUsersRequests() {
         CreateItemRequestDto requestorRequest = new CreateItemRequestDto();
         requestorRequest.setDescription("Request from requestor");
@@ -104,12 +114,37 @@ class ItemRequestServiceIntegrationTest {
         otherUserRequest.setDescription("Request from other user");
         requestService.createRequest(otherUserRequest, otherUserId);
 
-        List<ItemRequestWithItemsDto> allRequests = requestService.getAllRequests(requestorId, 0, 10);
+        List<ItemRequestWithItemsDto> allRequests = requestService.getAllRequests(requestorId, 0, 10, null);
 
         assertEquals(1, allRequests.size());
         assertEquals("Request from other user", allRequests.get(0).getDescription());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getAllRequests_whenPagedByOffsetAndByCursor_thenPagesMatch() {
+        for (int i = 1; i <= 5; i++) {
+            CreateItemRequestDto requestDto = new CreateItemRequestDto();
+            requestDto.setDescription("Request " + i);
+            requestService.createRequest(requestDto, otherUserId);
+        }
+        CreateItemRequestDto ownRequest = new CreateItemRequestDto();
+        ownRequest.setDescription("Own request");
+        requestService.createRequest(ownRequest, requestorId);
+
+        List<ItemRequestWithItemsDto> firstPage = requestService.getAllRequests(requestorId, 0, 2, null);
+        List<ItemRequestWithItemsDto> secondPage = requestService.getAllRequests(requestorId, 2, 2, null);
+        List<ItemRequestWithItemsDto> afterFirstPage =
+                requestService.getAllRequests(requestorId, 0, 2, firstPage.get(1).getId());
+        List<ItemRequestWithItemsDto> lastPage =
+                requestService.getAllRequests(requestorId, 0, 10, secondPage.get(1).getId());
+
+        assertEquals(List.of("Request 5", "Request 4"), descriptions(firstPage));
+        assertEquals(List.of("Request 3", "Request 2"), descriptions(secondPage));
+        assertEquals(descriptions(secondPage), descriptions(afterFirstPage));
+        assertEquals(List.of("Request 1"), descriptions(lastPage));
+    }
+
     @Test
     void getRequestById_whenRequestExists_thenReturnRequest() {
         CreateItemRequestDto requestDto = new CreateItemRequestDto();
@@ -182,6 +217,33 @@ class ItemRequestServiceIntegrationTest {
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getAllRequests_whenAnsweringItemChanges_thenFeedFollows() {
+        CreateItemRequestDto requestDto = new CreateItemRequestDto();
+        requestDto.setDescription("Нужна лестница");
+        Long requestId = requestService.createRequest(requestDto, requestorId).getId();
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Лестница");
+        itemDto.setDescription("Алюминиевая");
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(requestId);
+        Long itemId = itemService.createItem(itemDto, ownerId).getId();
+        assertEquals("Лестница", requestService.getAllRequests(otherUserId, 0, 10, null)
+                .get(0).getItems().get(0).getName());
+
+        ItemDto update = new ItemDto();
+        update.setName("Стремянка");
+        itemService.updateItem(itemId, update, ownerId);
+        assertEquals("Стремянка", requestService.getAllRequests(otherUserId, 0, 10, null)
+                .get(0).getItems().get(0).getName());
+
+        itemService.deleteItem(itemId, ownerId);
+        assertTrue(requestService.getAllRequests(otherUserId, 0, 10, null).get(0).getItems().isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void testRequestLifecycle() {
         CreateItemRequestDto createDto = new CreateItemRequestDto();
         createDto.setDescription("Need gardening tools");
@@ -194,7 +256,7 @@ class ItemRequestServiceIntegrationTest {
         ItemRequestWithItemsDto found = requestService.getRequestById(created.getId(), requestorId);
         assertEquals(created.getId(), found.getId());
 
-        List<ItemRequestWithItemsDto> allRequests = requestService.getAllRequests(otherUserId, 0, 10);
+        List<ItemRequestWithItemsDto> allRequests = requestService.getAllRequests(otherUserId, 0, 10, null);
         assertEquals(1, allRequests.size());
 
         ItemDto itemDto = new ItemDto();
@@ -208,4 +270,76 @@ class ItemRequestServiceIntegrationTest {
         assertFalse(updatedRequest.getItems().isEmpty());
         assertEquals("Gardening Gloves", updatedRequest.getItems().get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getSuggestedRequests_whenItemMatchesOpenRequest_thenSuggestUntilAnswered() {
+        Long drillRequestId = createRequest("Нужна дрель для ремонта", requestorId);
+        createRequest("Ищу палатку", otherUserId);
+        createRequest("Нужна дрель", ownerId);
+        Long itemId = createItem("Дрель", "Ударная дрель", null);
+
+        List<ItemRequestDto> suggested = itemService.getSuggestedRequests(itemId, ownerId);
+
+        assertEquals(List.of(drillRequestId), suggested.stream().map(ItemRequestDto::getId).toList());
+
+        createItem("Дрель Bosch", "Для ремонта", drillRequestId);
+
+        assertTrue(itemService.getSuggestedRequests(itemId, ownerId).isEmpty());
+    }
+
+    @Test
+    void load_whenRequestsStored_thenIndexOnlyOpenOnes() {
+        Long answeredId = createRequest("Нужна дрель", requestorId);
+        Long openId = createRequest("Нужна дрель помощнее", otherUserId);
+        createItem("Старая дрель", "Работает", answeredId);
+        RequestMatcher freshMatcher = new RequestMatcher(itemRequestRepository);
+
+        freshMatcher.load();
+
+        assertEquals(List.of(openId), freshMatcher.match("Дрель", ownerId));
+    }
+
+    @Test
+    void findOthersPageAfter_whenCreatedTimesTie_thenOrderedByIdWithoutGaps() {
+        LocalDateTime created = LocalDateTime.now().minusHours(1).withNano(0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Long id = createRequest("Request " + i, otherUserId);
+            itemRequestRepository.findById(id).orElseThrow().setCreated(created);
+            ids.add(id);
+        }
+        Long newerId = createRequest("Newer request", otherUserId);
+
+        List<Long> afterNewer = itemRequestRepository.findOthersPageAfter(requestorId, newerId, 2).stream()
+                .map(ItemRequest::getId)
+                .toList();
+        List<Long> afterMiddle = itemRequestRepository.findOthersPageAfter(requestorId, ids.get(1), 10).stream()
+                .map(ItemRequest::getId)
+                .toList();
+
+        assertEquals(List.of(ids.get(2), ids.get(1)), afterNewer);
+        assertEquals(List.of(ids.get(0)), afterMiddle);
+    }
+
+    private Long createRequest(String description, Long userId) {
+        CreateItemRequestDto requestDto = new CreateItemRequestDto();
+        requestDto.setDescription(description);
+        return requestService.createRequest(requestDto, userId).getId();
+    }
+
+    private Long createItem(String name, String description, Long requestId) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(description);
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(requestId);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+
+    private static List<String> descriptions(List<ItemRequestWithItemsDto> requests) {
+        return requests.stream()
+                .map(ItemRequestWithItemsDto::getDescription)
+                .toList();
+    }
+}
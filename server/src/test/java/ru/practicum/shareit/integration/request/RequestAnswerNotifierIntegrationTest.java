@@ -0,0 +1,102 @@
+package ru.practicum.shareit.integration.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.async.DeferredResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestAnswerDto;
+import ru.practicum.shareit.request.notification.RequestAnswerNotifier;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RequestAnswerNotifierIntegrationTest {
+
+    @Autowired
+    private RequestAnswerNotifier answerNotifier;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    private Long requestorId;
+    private Long ownerId;
+    private Long requestId;
+
+    @BeforeEach
+    void setUp() {
+        requestorId = createUser("requestor");
+        ownerId = createUser("owner");
+        CreateItemRequestDto requestDto = new CreateItemRequestDto();
+        requestDto.setDescription("Нужна дрель");
+        requestId = requestService.createRequest(requestDto, requestorId).getId();
+    }
+
+    @Test
+    void poll_whenItemAnswersRequest_thenWaitingPollReceivesIt() {
+        DeferredResult<List<RequestAnswerDto>> pending = answerNotifier.poll(requestorId, 0L, 30);
+        assertFalse(pending.hasResult());
+
+        Long itemId = createItem("Дрель");
+
+        @SuppressWarnings("unchecked")
+        List<RequestAnswerDto> answers = (List<RequestAnswerDto>) pending.getResult();
+        assertEquals(1, answers.size());
+        assertEquals(requestId, answers.get(0).getRequestId());
+        assertEquals(itemId, answers.get(0).getItemId());
+        assertEquals(ownerId, answers.get(0).getOwnerId());
+    }
+
+    @Test
+    void poll_whenReconnectingWithCursor_thenOnlyLaterAnswers() {
+        createItem("Дрель");
+        List<RequestAnswerDto> first = resultOf(answerNotifier.poll(requestorId, 0L, 30));
+        Long secondItemId = createItem("Дрель ударная");
+
+        List<RequestAnswerDto> second = resultOf(answerNotifier.poll(requestorId, first.get(0).getId(), 30));
+
+        assertEquals(1, first.size());
+        assertEquals(List.of(secondItemId), second.stream().map(RequestAnswerDto::getItemId).toList());
+        assertFalse(answerNotifier.poll(ownerId, 0L, 30).hasResult());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RequestAnswerDto> resultOf(DeferredResult<List<RequestAnswerDto>> result) {
+        assertTrue(result.hasResult());
+        return (List<RequestAnswerDto>) result.getResult();
+    }
+
+    private Long createItem(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription("Для ремонта");
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(requestId);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+
+    private Long createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@example.com");
+        return userService.createUser(userDto).getId();
+    }
+}
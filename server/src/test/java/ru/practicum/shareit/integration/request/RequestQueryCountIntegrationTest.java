@@ -0,0 +1,112 @@
+package ru.practicum.shareit.integration.request;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RequestQueryCountIntegrationTest {
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long requestorId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        requestorId = createUser("requestor");
+    }
+
+    @Test
+    void getItemsByRequestIds_whenItemsFromManyOwners_thenOneStatementAndNoEntities() {
+        Long firstRequestId = createRequestWithItems(3);
+        Long secondRequestId = createRequestWithItems(2);
+
+        Map<Long, List<ItemDto>> items = measure(() ->
+                itemService.getItemsByRequestIds(List.of(firstRequestId, secondRequestId)));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, items.get(firstRequestId).size());
+        assertEquals(2, items.get(secondRequestId).size());
+        assertTrue(items.get(firstRequestId).stream().allMatch(item -> item.getOwnerId() != null));
+    }
+
+    @Test
+    void getRequestById_whenMoreItems_thenSameStatementCount() {
+        Long fewItemsRequestId = createRequestWithItems(1);
+        Long manyItemsRequestId = createRequestWithItems(5);
+
+        ItemRequestWithItemsDto few = measure(() -> requestService.getRequestById(fewItemsRequestId, requestorId));
+        long fewItemsStatements = statistics.getPrepareStatementCount();
+        ItemRequestWithItemsDto many = measure(() -> requestService.getRequestById(manyItemsRequestId, requestorId));
+        long manyItemsStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(1, few.getItems().size());
+        assertEquals(5, many.getItems().size());
+        assertEquals(fewItemsStatements, manyItemsStatements);
+    }
+
+    private <T> T measure(Supplier<T> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return call.get();
+    }
+
+    private Long createRequestWithItems(int items) {
+        CreateItemRequestDto requestDto = new CreateItemRequestDto();
+        requestDto.setDescription("Нужна вещь");
+        Long requestId = requestService.createRequest(requestDto, requestorId).getId();
+        for (int i = 0; i < items; i++) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setName("Вещь " + i);
+            itemDto.setDescription("Описание");
+            itemDto.setAvailable(true);
+            itemDto.setRequestId(requestId);
+            itemService.createItem(itemDto, createUser("owner" + requestId + "_" + i));
+        }
+        return requestId;
+    }
+
+    private Long createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@example.com");
+        return userService.createUser(userDto).getId();
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.integration.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.dto.UserBulkConflictDto;
+import ru.practicum.shareit.user.dto.UserBulkResultDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserProvisioningService;
+import ru.practicum.shareit.user.service.UserProvisioningServiceImpl;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest(properties = {
+        "shareit.user-provisioning.batch-size=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserProvisioningIntegrationTest {
+
+    @Autowired
+    private UserProvisioningService provisioningService;
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userService.createUser(user("Taken", "taken@example.com"));
+    }
+
+    @Test
+    void provisionUsers_whenManyUsers_thenFewStatementsAndPerRowConflicts() {
+        List<UserDto> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            users.add(user("Employee " + i, "employee" + i + "@example.com"));
+        }
+        users.set(5, user("Copy", "employee0@example.com"));
+        users.set(10, user("Taken again", "taken@example.com"));
+        users.set(20, user(" ", "blank@example.com"));
+        statistics.clear();
+
+        UserBulkResultDto result = provisioningService.provisionUsers(users);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(117, result.getCreated().size());
+        assertTrue(result.getCreated().stream().allMatch(created -> created.getId() != null));
+        assertEquals(List.of(5, 10, 20), result.getConflicts().stream().map(UserBulkConflictDto::getIndex).toList());
+        assertEquals("Email уже указан в записи 0", result.getConflicts().get(0).getMessage());
+        assertEquals("Пользователь с таким email уже существует", result.getConflicts().get(1).getMessage());
+        assertEquals("Имя не может быть пустым", result.getConflicts().get(2).getMessage());
+        assertEquals(118, userService.getAllUsers(0L, 1000).size());
+    }
+
+    @Test
+    void provisionUsers_whenEmailTakenAfterCheck_thenOnlyThatRowRejected() {
+        doReturn(List.of()).when(userRepository).findExistingEmails(anyCollection());
+        List<UserDto> users = List.of(
+                user("First", "first@example.com"),
+                user("Taken again", "taken@example.com"),
+                user("Third", "third@example.com"));
+
+        UserBulkResultDto result = provisioningService.provisionUsers(users);
+
+        assertEquals(List.of("first@example.com", "third@example.com"),
+                result.getCreated().stream().map(UserDto::getEmail).toList());
+        assertEquals(1, result.getConflicts().size());
+        assertEquals(1, result.getConflicts().get(0).getIndex());
+        assertEquals("Пользователь с таким email уже существует", result.getConflicts().get(0).getMessage());
+        assertEquals(3, userService.getAllUsers(0L, 100).size());
+    }
+
+    @Test
+    void provisionUsers_whenEmailMalformed_thenRowRejectedLikeSingleUserEndpoint() {
+        List<UserDto> users = List.of(
+                user("Valid", "valid@example.com"),
+                user("Two at signs", "a@b@c"),
+                user("Only at sign", "@"),
+                user("No email", " "));
+
+        UserBulkResultDto result = provisioningService.provisionUsers(users);
+
+        assertEquals(List.of("valid@example.com"), result.getCreated().stream().map(UserDto::getEmail).toList());
+        assertEquals(List.of(1, 2, 3), result.getConflicts().stream().map(UserBulkConflictDto::getIndex).toList());
+        assertEquals("Электронная почта должна содержать символ @", result.getConflicts().get(0).getMessage());
+        assertEquals("Электронная почта должна содержать символ @", result.getConflicts().get(1).getMessage());
+        assertEquals("Электронная почта не может быть пустой", result.getConflicts().get(2).getMessage());
+        assertEquals(2, userService.getAllUsers(0L, 100).size());
+    }
+
+    @Test
+    void provisionUsers_whenTooManyUsers_thenThrowValidationException() {
+        List<UserDto> users = Collections.nCopies(UserProvisioningServiceImpl.MAX_USERS + 1, user("User", "user@example.com"));
+
+        assertThrows(ValidationException.class, () -> provisioningService.provisionUsers(users));
+    }
+
+    private static UserDto user(String name, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(email);
+        return userDto;
+    }
+}
@@ -3,14 +3,16 @@ package ru.practicum.shareit.integration.user;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,7 +40,7 @@ class UserServiceIntegrationTest {
     }
 
     @Test
-    void createUser_whenDuplicateEmail_thenThrowConflictException() {
+    void createUser_whenDuplicateEmail_thenEmailConstraintViolated() {
         UserDto user1 = new UserDto();
         user1.setName("User 1");
         user1.setEmail("same@email.com");
@@ -48,12 +50,12 @@ class UserServiceIntegrationTest {
         user2.setName("User 2");
         user2.setEmail("same@email.com");
 
-        ConflictException exception = assertThrows(
-                ConflictException.class,
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
                 () -> userService.createUser(user2)
         );
 
-        assertTrue(exception.getMessage().contains("уже существует"));
+        assertTrue(exception.getMessage().toUpperCase().contains("UQ_USER_EMAIL"));
     }
 
     @Test
@@ -115,7 +117,7 @@ class UserServiceIntegrationTest {
     }
 
     @Test
-    void updateUser_whenEmailToExisting_thenThrowConflictException() {
+    void updateUser_whenEmailToExisting_thenEmailConstraintViolated() {
         UserDto user1 = new UserDto();
         user1.setName("User 1");
         user1.setEmail("user1@example.com");
@@ -129,12 +131,48 @@ class UserServiceIntegrationTest {
         UserDto updateDto = new UserDto();
         updateDto.setEmail("user2@example.com");
 
-        ConflictException exception = assertThrows(
-                ConflictException.class,
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
                 () -> userService.updateUser(createdUser1.getId(), updateDto)
         );
 
-        assertTrue(exception.getMessage().contains("уже используется"));
+        assertTrue(exception.getMessage().toUpperCase().contains("UQ_USER_EMAIL"));
+    }
+
+    @Test
+    void getAllUsers_whenPagedByCursor_thenEachUserOnce() {
+        for (int i = 1; i <= 5; i++) {
+            UserDto userDto = new UserDto();
+            userDto.setName("User " + i);
+            userDto.setEmail("page" + i + "@example.com");
+            userService.createUser(userDto);
+        }
+
+        List<UserDto> firstPage = userService.getAllUsers(0L, 2);
+        List<UserDto> secondPage = userService.getAllUsers(firstPage.get(1).getId(), 2);
+        List<UserDto> lastPage = userService.getAllUsers(secondPage.get(1).getId(), 2);
+
+        assertEquals(List.of("User 1", "User 2"), firstPage.stream().map(UserDto::getName).toList());
+        assertEquals(List.of("User 3", "User 4"), secondPage.stream().map(UserDto::getName).toList());
+        assertEquals(List.of("User 5"), lastPage.stream().map(UserDto::getName).toList());
+    }
+
+    @Test
+    void exportUsers_whenUserDeleted_thenExportsRemainingUsersAsLines() throws Exception {
+        UserDto kept = new UserDto();
+        kept.setName("Kept");
+        kept.setEmail("kept@example.com");
+        Long keptId = userService.createUser(kept).getId();
+        UserDto deleted = new UserDto();
+        deleted.setName("Deleted");
+        deleted.setEmail("deleted@example.com");
+        userService.deleteUser(userService.createUser(deleted).getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportUsers(out);
+
+        assertEquals("{\"id\":" + keptId + ",\"name\":\"Kept\",\"email\":\"kept@example.com\"}\n",
+                out.toString(StandardCharsets.UTF_8));
     }
 
     @Test
@@ -149,7 +187,7 @@ class UserServiceIntegrationTest {
         user2.setEmail("user2@example.com");
         userService.createUser(user2);
 
-        List<UserDto> allUsers = userService.getAllUsers();
+        List<UserDto> allUsers = userService.getAllUsers(0L, 100);
 
         assertNotNull(allUsers);
         assertTrue(allUsers.size() >= 2);
@@ -201,7 +239,7 @@ class UserServiceIntegrationTest {
         UserDto updated = userService.updateUser(created.getId(), updateDto);
         assertEquals("Updated Lifecycle", updated.getName());
 
-        List<UserDto> allUsers = userService.getAllUsers();
+        List<UserDto> allUsers = userService.getAllUsers(0L, 100);
         assertFalse(allUsers.isEmpty());
 
         userService.deleteUser(created.getId());
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.integration.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserSignupConcurrencyIntegrationTest {
+    private static final int SIGNUPS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void createUser_whenSameEmailSignsUpConcurrently_thenExactlyOneWins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SIGNUPS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> signups = new ArrayList<>();
+        for (int i = 0; i < SIGNUPS; i++) {
+            UserDto userDto = new UserDto();
+            userDto.setName("User " + i);
+            userDto.setEmail("race@example.com");
+            signups.add(executor.submit(() -> {
+                start.await();
+                return userService.createUser(userDto);
+            }));
+        }
+
+        start.countDown();
+        int created = 0;
+        List<DataIntegrityViolationException> rejected = new ArrayList<>();
+        for (Future<UserDto> signup : signups) {
+            try {
+                signup.get(30, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException e) {
+                rejected.add(assertInstanceOf(DataIntegrityViolationException.class, e.getCause()));
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(SIGNUPS - 1, rejected.size());
+        assertEquals(1, userService.getAllUsers(0L, 100).size());
+        ResponseEntity<Map<String, String>> response = new ErrorHandler().handleDataIntegrityViolationException(rejected.get(0));
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Пользователь с таким email уже существует", response.getBody().get("message"));
+    }
+}
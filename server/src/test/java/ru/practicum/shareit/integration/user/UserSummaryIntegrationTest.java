@@ -0,0 +1,126 @@
+package ru.practicum.shareit.integration.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserSummaryIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long ownerId;
+    private Long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ownerId = createUser("Owner");
+        bookerId = createUser("Booker");
+        Long drillId = createItem("Дрель");
+        createItem("Лестница");
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto booking = createBooking(drillId, now.minusDays(3), now.minusDays(2));
+        bookingService.approveBooking(booking.getId(), true, ownerId);
+        createBooking(drillId, now.plusDays(1), now.plusDays(2));
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Отличная дрель");
+        itemService.addComment(drillId, commentDto, bookerId);
+        CreateItemRequestDto requestDto = new CreateItemRequestDto();
+        requestDto.setDescription("Нужен перфоратор");
+        requestService.createRequest(requestDto, bookerId);
+    }
+
+    @Test
+    void getUserSummary_whenUserActive_thenAllCountsFromOneStatement() {
+        statistics.clear();
+
+        UserSummaryDto owner = userService.getUserSummary(ownerId);
+        UserSummaryDto booker = userService.getUserSummary(bookerId);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(new UserSummaryDto(ownerId, 2L, 0L, 0L, 2L, 0L), owner);
+        assertEquals(new UserSummaryDto(bookerId, 0L, 1L, 2L, 0L, 1L), booker);
+    }
+
+    @Test
+    void getUserSummary_whenCached_thenNoQueryUntilUserWrites() {
+        userService.getUserSummary(ownerId);
+        statistics.clear();
+
+        userService.getUserSummary(ownerId);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        createItem("Пила");
+        assertEquals(3L, userService.getUserSummary(ownerId).getItemCount());
+    }
+
+    @Test
+    void getUserSummary_whenUserMissing_thenThrowNotFoundException() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> userService.getUserSummary(999L));
+
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+    }
+
+    private Long createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name.toLowerCase() + "@example.com");
+        return userService.createUser(userDto).getId();
+    }
+
+    private Long createItem(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription("Для ремонта");
+        itemDto.setAvailable(true);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+
+    private BookingDto createBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        CreateBookingDto bookingDto = new CreateBookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start.toString());
+        bookingDto.setEnd(end.toString());
+        return bookingService.createBooking(bookingDto, bookerId);
+    }
+}
@@ -8,12 +8,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityResultDto;
+import ru.practicum.shareit.item.dto.ItemChangeDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.ImportFormat;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.service.ItemChangeFeedService;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +31,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -49,6 +61,12 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
+    @MockBean
+    private ItemChangeFeedService itemChangeFeedService;
+
     private ItemDto itemDto;
     private ItemWithBookingsDto itemWithBookingsDto;
     private CommentDto commentDto;
@@ -114,6 +132,39 @@ class ItemControllerTest {
         verify(itemService, times(1)).updateItem(eq(1L), any(ItemDto.class), eq(1L));
     }
 
+    @Test
+    void getItemsByIds_whenIdsGiven_thenReturnItems() throws Exception {
+        when(itemService.getItemsByIds(anyList(), anyLong(), any())).thenReturn(List.of(itemWithBookingsDto));
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService, times(1)).getItemsByIds(eq(List.of(1L, 2L, 3L)), eq(2L), eq(FieldSet.ALL));
+        verify(itemService, never()).getAllUserItems(anyLong(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void updateAvailability_whenValid_thenReturnUpdatedCount() throws Exception {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setItemIds(List.of(1L, 2L));
+        availabilityDto.setAvailable(false);
+        when(itemService.updateAvailability(any(ItemAvailabilityDto.class), anyLong()))
+                .thenReturn(new ItemAvailabilityResultDto(2));
+
+        mockMvc.perform(patch("/items/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(availabilityDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(2)));
+
+        verify(itemService, times(1)).updateAvailability(eq(availabilityDto), eq(1L));
+        verify(itemService, never()).updateItem(anyLong(), any(ItemDto.class), anyLong());
+    }
+
     @Test
     void updateItem_whenItemNotFound_thenReturnNotFound() throws Exception {
         when(itemService.updateItem(anyLong(), any(ItemDto.class), anyLong()))
@@ -130,7 +181,7 @@ class ItemControllerTest {
 
     @Test
     void getItem_whenExists_thenReturnItem() throws Exception {
-        when(itemService.getItemById(anyLong(), anyLong())).thenReturn(itemWithBookingsDto);
+        when(itemService.getItemById(anyLong(), anyLong(), any())).thenReturn(itemWithBookingsDto);
 
         mockMvc.perform(get("/items/{itemId}", 1L)
                         .header("X-Sharer-User-Id", 1L))
@@ -138,69 +189,128 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id", is(itemWithBookingsDto.getId().intValue())))
                 .andExpect(jsonPath("$.name", is(itemWithBookingsDto.getName())));
 
-        verify(itemService, times(1)).getItemById(eq(1L), eq(1L));
+        verify(itemService, times(1)).getItemById(eq(1L), eq(1L), eq(FieldSet.ALL));
     }
 
     @Test
     void getItem_whenNotFound_thenReturnNotFound() throws Exception {
-        when(itemService.getItemById(anyLong(), anyLong()))
+        when(itemService.getItemById(anyLong(), anyLong(), any()))
                 .thenThrow(new NotFoundException("Вещь не найдена"));
 
         mockMvc.perform(get("/items/{itemId}", 999L)
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isNotFound());
 
-        verify(itemService, times(1)).getItemById(eq(999L), eq(1L));
+        verify(itemService, times(1)).getItemById(eq(999L), eq(1L), eq(FieldSet.ALL));
     }
 
     @Test
     void getAllUserItems_whenUserExists_thenReturnItems() throws Exception {
         List<ItemWithBookingsDto> items = List.of(itemWithBookingsDto);
-        when(itemService.getAllUserItems(anyLong())).thenReturn(items);
+        when(itemService.getAllUserItems(anyLong(), anyInt(), anyInt(), any(), any())).thenReturn(items);
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(itemService, times(1)).getAllUserItems(eq(1L));
+        verify(itemService, times(1)).getAllUserItems(eq(1L), eq(0), eq(10), eq(ItemSort.DEFAULT), eq(FieldSet.ALL));
+    }
+
+    @Test
+    void getAllUserItems_whenFieldsGiven_thenReturnOnlyRequestedFields() throws Exception {
+        when(itemService.getAllUserItems(anyLong(), anyInt(), anyInt(), any(), any()))
+                .thenReturn(List.of(itemWithBookingsDto));
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "name, available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is("Дрель")))
+                .andExpect(jsonPath("$[0].available", is(true)))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].comments").doesNotExist());
+
+        verify(itemService, times(1)).getAllUserItems(eq(1L), eq(0), eq(10), eq(ItemSort.DEFAULT),
+                eq(FieldSet.of("name", "available")));
+    }
+
+    @Test
+    void getAllUserItems_whenUnknownField_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "name,owner"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).getAllUserItems(anyLong(), anyInt(), anyInt(), any(), any());
     }
 
     @Test
     void getAllUserItems_whenUserNotFound_thenReturnNotFound() throws Exception {
-        when(itemService.getAllUserItems(anyLong()))
+        when(itemService.getAllUserItems(anyLong(), anyInt(), anyInt(), any(), any()))
                 .thenThrow(new NotFoundException("Пользователь не найден"));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 999L))
                 .andExpect(status().isNotFound());
 
-        verify(itemService, times(1)).getAllUserItems(eq(999L));
+        verify(itemService, times(1)).getAllUserItems(eq(999L), eq(0), eq(10), eq(ItemSort.DEFAULT), eq(FieldSet.ALL));
     }
 
     @Test
     void searchItems_whenValidText_thenReturnItems() throws Exception {
         List<ItemDto> items = List.of(itemDto);
-        when(itemService.searchItems(anyString())).thenReturn(items);
+        when(itemService.searchItems(anyString(), any())).thenReturn(items);
 
         mockMvc.perform(get("/items/search")
                         .param("text", "дрель"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(itemService, times(1)).searchItems(eq("дрель"));
+        verify(itemService, times(1)).searchItems(eq("дрель"), eq(ItemSort.DEFAULT));
+    }
+
+    @Test
+    void searchItems_whenFuzzy_thenUseFuzzySearch() throws Exception {
+        when(itemService.fuzzySearchItems(anyString(), any())).thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drel")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService, times(1)).fuzzySearchItems(eq("drel"), eq(ItemSort.DEFAULT));
+        verify(itemService, never()).searchItems(anyString(), any());
     }
 
     @Test
     void searchItems_whenEmptyText_thenReturnEmptyList() throws Exception {
-        when(itemService.searchItems(anyString())).thenReturn(List.of());
+        when(itemService.searchItems(anyString(), any())).thenReturn(List.of());
 
         mockMvc.perform(get("/items/search")
                         .param("text", ""))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(itemService, times(1)).searchItems(eq(""));
+        verify(itemService, times(1)).searchItems(eq(""), eq(ItemSort.DEFAULT));
+    }
+
+    @Test
+    void getSuggestedRequests_whenOwner_thenReturnRequests() throws Exception {
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setId(5L);
+        requestDto.setDescription("Нужна дрель");
+        when(itemService.getSuggestedRequests(anyLong(), anyLong())).thenReturn(List.of(requestDto));
+
+        mockMvc.perform(get("/items/{itemId}/suggested-requests", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(5)));
+
+        verify(itemService, times(1)).getSuggestedRequests(eq(1L), eq(1L));
     }
 
     @Test
@@ -278,4 +388,74 @@ class ItemControllerTest {
 
         verify(itemService, never()).addComment(anyLong(), any(CommentDto.class), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemComments_whenCursorGiven_thenReturnComments() throws Exception {
+        when(itemService.getItemComments(anyLong(), any(), anyInt())).thenReturn(List.of(commentDto));
+
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("after", "5")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService, times(1)).getItemComments(eq(1L), eq(5L), eq(20));
+    }
+
+    @Test
+    void importItems_whenNdjson_thenDelegateWithNdjsonFormat() throws Exception {
+        ItemImportResultDto result = new ItemImportResultDto();
+        result.setImported(2);
+        when(itemImportService.importItems(anyLong(), any(ImportFormat.class), any())).thenReturn(result);
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"a\"}\n{\"name\":\"b\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)));
+
+        verify(itemImportService, times(1)).importItems(eq(1L), eq(ImportFormat.NDJSON), any());
+    }
+
+    @Test
+    void importItems_whenCsv_thenDelegateWithCsvFormat() throws Exception {
+        when(itemImportService.importItems(anyLong(), any(ImportFormat.class), any()))
+                .thenReturn(new ItemImportResultDto());
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("text/csv")
+                        .content("name,description,available\n"))
+                .andExpect(status().isOk());
+
+        verify(itemImportService, times(1)).importItems(eq(1L), eq(ImportFormat.CSV), any());
+    }
+
+    @Test
+    void importItems_whenUnsupportedContentType_thenReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<items/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemImportService, never()).importItems(anyLong(), any(), any());
+    }
+
+    @Test
+    void getItemChanges_whenCursorGiven_thenReturnPage() throws Exception {
+        ItemChangeDto change = new ItemChangeDto();
+        change.setSeq(6L);
+        change.setItemId(1L);
+        when(itemChangeFeedService.getChanges(anyLong(), anyInt())).thenReturn(List.of(change));
+
+        mockMvc.perform(get("/items/changes")
+                        .param("after", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].seq", is(6)));
+
+        verify(itemChangeFeedService, times(1)).getChanges(5L, 100);
+        verify(itemService, never()).getItemById(anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.popularity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemPopularityTrackerTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+    private static final Long OWNER_ID = 10L;
+
+    private ItemPopularityRepository repository;
+    private ItemPopularityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ItemPopularityRepository.class);
+        tracker = new ItemPopularityTracker(repository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void scores_whenBookingsRecorded_thenSumBucketsInsideWindow() {
+        tracker.record(1L, OWNER_ID, 1, TODAY.minusDays(ItemPopularityTracker.WINDOW_DAYS));
+        tracker.record(1L, OWNER_ID, 1, TODAY.minusDays(ItemPopularityTracker.WINDOW_DAYS - 1));
+        tracker.record(1L, OWNER_ID, 2, TODAY);
+        tracker.record(2L, OWNER_ID, 1, TODAY);
+
+        assertEquals(Map.of(1L, 3, 2L, 1, 3L, 0), tracker.scores(List.of(1L, 2L, 3L), TODAY));
+        assertEquals(2, tracker.scores(List.of(1L), TODAY.plusDays(1)).get(1L));
+    }
+
+    @Test
+    void record_whenBucketReused_thenOldCountDropped() {
+        tracker.record(1L, OWNER_ID, 4, TODAY);
+        tracker.record(1L, OWNER_ID, 1, TODAY.plusDays(ItemPopularityTracker.WINDOW_DAYS));
+
+        assertEquals(1, tracker.scores(List.of(1L), TODAY.plusDays(ItemPopularityTracker.WINDOW_DAYS)).get(1L));
+    }
+
+    @Test
+    void record_whenNegativeDelta_thenWithdrawFromLatestBucket() {
+        tracker.record(1L, OWNER_ID, 1, TODAY.minusDays(3));
+        tracker.record(1L, OWNER_ID, -1, TODAY);
+        tracker.record(1L, OWNER_ID, -1, TODAY);
+
+        assertEquals(0, tracker.scores(List.of(1L), TODAY).get(1L));
+    }
+
+    @Test
+    void load_whenRowsPersisted_thenRestoreScores() {
+        LocalDate today = LocalDate.now();
+        when(repository.findAllSinceWithOwner(any())).thenReturn(List.of(
+                new Object[]{new ItemPopularity(new ItemPopularityId(1L, today), 2), OWNER_ID},
+                new Object[]{new ItemPopularity(new ItemPopularityId(1L, today.minusDays(1)), 3), OWNER_ID}));
+
+        tracker.load();
+
+        assertEquals(5, tracker.scores(List.of(1L)).get(1L));
+        assertEquals(List.of(1L), tracker.rankedOwnerItems(OWNER_ID, 0, 10));
+    }
+
+    @Test
+    void rankedOwnerItems_whenBookingsRecorded_thenPageOwnerItemsMostBookedFirst() {
+        tracker.record(1L, OWNER_ID, 1, TODAY);
+        tracker.record(2L, OWNER_ID, 3, TODAY);
+        tracker.record(3L, OWNER_ID, 1, TODAY);
+        tracker.record(4L, 20L, 5, TODAY);
+
+        assertEquals(List.of(2L, 1L, 3L), tracker.rankedOwnerItems(OWNER_ID, 0, 10, TODAY));
+        assertEquals(List.of(1L), tracker.rankedOwnerItems(OWNER_ID, 1, 1, TODAY));
+
+        tracker.record(3L, OWNER_ID, 3, TODAY);
+        tracker.record(2L, OWNER_ID, -3, TODAY);
+
+        assertEquals(List.of(3L, 1L), tracker.rankedOwnerItems(OWNER_ID, 0, 10, TODAY));
+        assertEquals(Set.of(1L, 3L), tracker.rankedOwnerItemIds(OWNER_ID, TODAY));
+    }
+
+    @Test
+    void rankedOwnerItems_whenBucketsLeaveWindow_thenRerankNextDay() {
+        tracker.record(1L, OWNER_ID, 2, TODAY.minusDays(ItemPopularityTracker.WINDOW_DAYS - 1));
+        tracker.record(2L, OWNER_ID, 1, TODAY);
+
+        assertEquals(List.of(1L, 2L), tracker.rankedOwnerItems(OWNER_ID, 0, 10, TODAY));
+        assertEquals(List.of(2L), tracker.rankedOwnerItems(OWNER_ID, 0, 10, TODAY.plusDays(1)));
+    }
+
+    @Test
+    void onItemDeleted_whenItemRanked_thenDropFromRanking() {
+        tracker.record(1L, OWNER_ID, 1, TODAY);
+        tracker.record(2L, OWNER_ID, 2, TODAY);
+        tracker.rankedOwnerItems(OWNER_ID, 0, 10, TODAY);
+
+        tracker.onItemDeleted(ItemDeletedEvent.of(2L));
+
+        assertEquals(List.of(1L), tracker.rankedOwnerItems(OWNER_ID, 0, 10, TODAY));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_whenBucketsChanged_thenSaveOnlyDirtyBuckets() {
+        tracker.record(1L, OWNER_ID, 2, TODAY);
+        tracker.record(2L, OWNER_ID, 1, TODAY.minusDays(1));
+
+        tracker.flush(TODAY);
+        tracker.flush(TODAY);
+
+        verify(repository).saveAll(argThat(rows -> ((List<ItemPopularity>) rows).size() == 2));
+        verify(repository).saveAll(argThat(rows -> ((List<ItemPopularity>) rows).isEmpty()));
+        verify(repository, times(2)).deleteOlderThan(TODAY.minusDays(ItemPopularityTracker.WINDOW_DAYS - 1));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fuzzy lookup latency over a 1M-token BK-tree.
+ * Run with {@code mvn -pl server test -Dtest=BkTreeBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BkTreeBenchmarkTest {
+    private static final int TOKENS = 1_000_000;
+    private static final int QUERIES = 2_000;
+    private static final String ALPHABET = "абвгдежзиклмнопрстуфхцчшэюя";
+
+    @Test
+    void searchLatencyAtOneMillionTokens() {
+        Random random = new Random(42);
+        BkTree tree = new BkTree();
+        String[] words = new String[TOKENS];
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < TOKENS; i++) {
+            words[i] = randomWord(random);
+            tree.add(words[i]);
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        for (int maxDistance = 1; maxDistance <= 2; maxDistance++) {
+            long[] latencies = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                String query = mutate(words[random.nextInt(TOKENS)], random);
+                long start = System.nanoTime();
+                tree.search(query, maxDistance);
+                latencies[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("BK-tree: %d distinct tokens (built in %d ms), distance %d: p50=%.2f ms, p99=%.2f ms%n",
+                    tree.size(), buildMillis, maxDistance,
+                    latencies[QUERIES / 2] / 1e6, latencies[QUERIES * 99 / 100] / 1e6);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        int length = 4 + random.nextInt(7);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    private static String mutate(String word, Random random) {
+        StringBuilder mutated = new StringBuilder(word);
+        mutated.setCharAt(random.nextInt(word.length()), ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        return mutated.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BkTreeTest {
+
+    @Test
+    void add_whenDuplicateWord_thenIgnored() {
+        BkTree tree = new BkTree();
+
+        assertTrue(tree.add("дрель"));
+        assertFalse(tree.add("дрель"));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void search_whenWithinDistance_thenReturnMatches() {
+        BkTree tree = new BkTree();
+        List.of("дрель", "дрели", "модель", "молоток", "пила", "пилка").forEach(tree::add);
+
+        Set<String> oneEdit = tree.search("дрел", 1).stream()
+                .map(BkTree.Match::word)
+                .collect(Collectors.toSet());
+        Set<String> twoEdits = tree.search("пилы", 2).stream()
+                .map(BkTree.Match::word)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("дрель", "дрели"), oneEdit);
+        assertEquals(Set.of("пила", "пилка"), twoEdits);
+    }
+
+    @Test
+    void remove_whenLastReferenceDropped_thenWordNoLongerMatched() {
+        BkTree tree = new BkTree();
+        List.of("дрель", "дрели", "дрель").forEach(tree::add);
+
+        assertFalse(tree.remove("дрель"));
+        assertTrue(tree.remove("дрель"));
+        assertFalse(tree.remove("дрель"));
+
+        assertEquals(List.of("дрели"), tree.search("дрел", 1).stream().map(BkTree.Match::word).toList());
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.deadSize());
+    }
+
+    @Test
+    void add_whenDeadWordAddedAgain_thenMatchedAgain() {
+        BkTree tree = new BkTree();
+        tree.add("дрель");
+        tree.remove("дрель");
+
+        assertTrue(tree.add("дрель"));
+        assertEquals(1, tree.search("дрель", 0).size());
+        assertEquals(0, tree.deadSize());
+    }
+
+    @Test
+    void compacted_whenDeadWords_thenKeepOnlyLiveWordsWithReferences() {
+        BkTree tree = new BkTree();
+        List.of("дрель", "дрели", "модель", "молоток", "молоток").forEach(tree::add);
+        tree.remove("дрель");
+        tree.remove("модель");
+
+        BkTree compacted = tree.compacted();
+        compacted.remove("молоток");
+
+        assertEquals(2, compacted.size());
+        assertEquals(0, compacted.deadSize());
+        assertEquals(Set.of("дрели", "молоток"), compacted.search("дрели", 10).stream()
+                .map(BkTree.Match::word)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void search_whenEmptyTree_thenReturnEmptyList() {
+        assertTrue(new BkTree().search("дрель", 2).isEmpty());
+    }
+
+    @Test
+    void levenshtein_whenKnownPairs_thenReturnDistance() {
+        assertEquals(0, Levenshtein.distance("drill", "drill"));
+        assertEquals(1, Levenshtein.distance("dril", "drill"));
+        assertEquals(2, Levenshtein.distance("dirll", "drill"));
+        assertEquals(5, Levenshtein.distance("", "drill"));
+        assertEquals(3, Levenshtein.distance("kitten", "sitting"));
+    }
+}
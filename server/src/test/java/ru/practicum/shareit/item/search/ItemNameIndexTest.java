@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ItemNameIndexTest {
+
+    private ItemNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemNameIndex(mock(ItemRepository.class));
+        index.put(1L, "Дрель аккумуляторная");
+        index.put(2L, "Ударная дрель");
+        index.put(3L, "Молоток");
+    }
+
+    @Test
+    void search_whenTypo_thenReturnClosestItemsFirst() {
+        List<Long> result = index.search("дрел");
+
+        assertEquals(List.of(1L, 2L), result);
+    }
+
+    @Test
+    void search_whenSeveralTokens_thenAllTokensMustMatch() {
+        assertEquals(List.of(2L), index.search("ударнaя дрел"));
+        assertTrue(index.search("молоток дрель").isEmpty());
+    }
+
+    @Test
+    void put_whenItemRenamed_thenOldTokensForgotten() {
+        index.put(3L, "Кувалда");
+
+        assertTrue(index.search("молоток").isEmpty());
+        assertEquals(List.of(3L), index.search("кувалды"));
+    }
+
+    @Test
+    void remove_whenItemRemoved_thenNotFound() {
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search("дрель"));
+    }
+
+    @Test
+    void remove_whenTokenSharedWithOtherItem_thenTokenStaysUntilLastItemRemoved() {
+        index.put(4L, "Молоток-гвоздодёр");
+
+        index.remove(3L);
+        assertEquals(List.of(4L), index.search("молоток"));
+
+        index.remove(4L);
+        assertTrue(index.search("молоток").isEmpty());
+        assertTrue(index.search("молотик").isEmpty());
+    }
+
+    @Test
+    void onItemDeleted_thenAllItemsRemoved() {
+        index.onItemDeleted(new ItemDeletedEvent(List.of(1L, 3L)));
+
+        assertEquals(List.of(2L), index.search("дрель"));
+        assertTrue(index.search("молоток").isEmpty());
+    }
+
+    @Test
+    void remove_whenDeadTokensOutnumberLiveOnes_thenTreeRebuilt() {
+        int items = ItemNameIndex.MIN_DEAD_TOKENS + 10;
+        for (long id = 100; id < 100 + items; id++) {
+            index.put(id, "вещь" + id);
+        }
+        for (long id = 100; id < 100 + items; id++) {
+            index.remove(id);
+        }
+
+        assertTrue(index.treeSize() < ItemNameIndex.MIN_DEAD_TOKENS + 10, "tree size: " + index.treeSize());
+        assertEquals(List.of(1L, 2L), index.search("дрел"));
+    }
+
+    @Test
+    void maxDistance_whenShortToken_thenExactMatchOnly() {
+        assertEquals(0, ItemNameIndex.maxDistance("ab"));
+        assertEquals(1, ItemNameIndex.maxDistance("drel"));
+        assertEquals(2, ItemNameIndex.maxDistance("молоток"));
+    }
+}
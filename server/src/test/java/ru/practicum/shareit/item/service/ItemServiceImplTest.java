@@ -5,25 +5,54 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.CommentEligibilityCache;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemNameChangedEvent;
+import ru.practicum.shareit.item.event.ItemsBulkUpdatedEvent;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemChange;
+import ru.practicum.shareit.item.model.ItemChangeType;
+import ru.practicum.shareit.item.model.ItemSort;
+import ru.practicum.shareit.item.popularity.ItemPopularityTracker;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemChangeRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameIndex;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.matching.RequestMatcher;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,7 +65,7 @@ class ItemServiceImplTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
 
     @Mock
     private BookingRepository bookingRepository;
@@ -44,6 +73,33 @@ class ItemServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemChangeRepository itemChangeRepository;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private ItemNameIndex itemNameIndex;
+
+    @Mock
+    private RequestMatcher requestMatcher;
+
+    @Spy
+    private ItemDetailCache itemDetailCache = new ItemDetailCache(100);
+
+    @Spy
+    private CommentEligibilityCache commentEligibilityCache = new CommentEligibilityCache(100);
+
+    @Mock
+    private ItemPopularityTracker popularityTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -98,7 +154,7 @@ class ItemServiceImplTest {
 
     @Test
     void createItem_whenValid_thenItemCreated() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userDirectory.getReference(anyLong())).thenReturn(owner);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
         ItemDto result = itemService.createItem(itemDto, owner.getId());
@@ -106,13 +162,16 @@ class ItemServiceImplTest {
         assertNotNull(result);
         assertEquals(item.getId(), result.getId());
         assertEquals(item.getName(), result.getName());
-        verify(userRepository).findById(owner.getId());
+        verify(userDirectory).getReference(owner.getId());
         verify(itemRepository).save(any(Item.class));
+        verify(eventPublisher).publishEvent(new ItemNameChangedEvent(item.getId(), item.getName()));
+        verify(itemChangeRepository).save(argThat(change ->
+                change.getItemId().equals(item.getId()) && change.getType() == ItemChangeType.CREATED));
     }
 
     @Test
     void createItem_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userDirectory.getReference(anyLong())).thenThrow(new NotFoundException("Пользователь с ID 999 не найден"));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -120,14 +179,15 @@ class ItemServiceImplTest {
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        verify(userDirectory).getReference(999L);
         verify(itemRepository, never()).save(any(Item.class));
     }
 
     @Test
     void createItem_whenWithRequestId_thenItemCreatedWithRequest() {
         itemDto.setRequestId(100L);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        item.setRequestId(100L);
+        when(userDirectory.getReference(anyLong())).thenReturn(owner);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
         ItemDto result = itemService.createItem(itemDto, owner.getId());
@@ -136,6 +196,8 @@ class ItemServiceImplTest {
         verify(itemRepository).save(argThat(savedItem ->
                 savedItem.getRequestId() != null && savedItem.getRequestId().equals(100L)
         ));
+        verify(eventPublisher).publishEvent(
+                new ItemRequestAnsweredEvent(100L, item.getId(), item.getName(), owner.getId()));
     }
 
     @Test
@@ -153,6 +215,9 @@ class ItemServiceImplTest {
         assertEquals("Новое описание", result.getDescription());
         verify(itemRepository).findById(item.getId());
         verify(itemRepository).save(any(Item.class));
+        verify(eventPublisher).publishEvent(ItemChangedEvent.of(item.getId()));
+        verify(itemChangeRepository).save(argThat(change ->
+                change.getItemId().equals(item.getId()) && change.getType() == ItemChangeType.UPDATED));
     }
 
     @Test
@@ -182,6 +247,7 @@ class ItemServiceImplTest {
         assertEquals("Только владелец может выполнить это действие", exception.getMessage());
         verify(itemRepository).findById(item.getId());
         verify(itemRepository, never()).save(any(Item.class));
+        verify(itemChangeRepository, never()).save(any(ItemChange.class));
     }
 
     @Test
@@ -209,15 +275,100 @@ class ItemServiceImplTest {
     @Test
     void getItemById_whenItemExists_thenReturnItem() {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of());
 
-        ItemWithBookingsDto result = itemService.getItemById(item.getId(), owner.getId());
+        ItemWithBookingsDto result = itemService.getItemById(item.getId(), owner.getId(), FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(item.getId(), result.getId());
         assertEquals(item.getName(), result.getName());
         verify(itemRepository).findById(item.getId());
-        verify(commentRepository).findByItemId(item.getId());
+        verify(commentRepository).findLatestByItemId(item.getId(), ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT);
+        assertEquals(0L, result.getCommentCount());
+    }
+
+    @Test
+    void getItemById_whenCommentsExceedLimit_thenEmbedLatestAndCountAll() {
+        List<Comment> latest = Collections.nCopies(ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT, comment);
+        item.setCommentCount(250L);
+        item.setLastCommentAt(comment.getCreated());
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(latest);
+
+        ItemWithBookingsDto result = itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+
+        assertEquals(ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT, result.getComments().size());
+        assertEquals(250L, result.getCommentCount());
+        assertEquals(comment.getCreated(), result.getLastCommentAt());
+    }
+
+    @Test
+    void getItemById_whenCalledTwice_thenLoadItemOnce() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of(comment));
+
+        ItemWithBookingsDto first = itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+        ItemWithBookingsDto second = itemService.getItemById(item.getId(), 998L, FieldSet.ALL);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        verify(itemRepository, times(1)).findById(item.getId());
+        verify(commentRepository, times(1)).findLatestByItemId(anyLong(), anyInt());
+    }
+
+    @Test
+    void getItemById_whenCachedAndOwner_thenBookingsStayLive() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of());
+        when(bookingRepository.findLastBooking(anyLong(), any(LocalDateTime.class))).thenReturn(List.of(booking));
+        when(bookingRepository.findNextBooking(anyLong(), any(LocalDateTime.class))).thenReturn(List.of());
+
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+        ItemWithBookingsDto ownerView = itemService.getItemById(item.getId(), owner.getId(), FieldSet.ALL);
+        ItemWithBookingsDto otherView = itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+
+        assertNotNull(ownerView.getLastBooking());
+        assertNull(otherView.getLastBooking());
+        verify(itemRepository, times(1)).findById(item.getId());
+    }
+
+    @Test
+    void getItemById_whenItemChanged_thenReload() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of());
+
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+        itemDetailCache.onItemChanged(ItemChangedEvent.of(item.getId()));
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+
+        verify(itemRepository, times(2)).findById(item.getId());
+    }
+
+    @Test
+    void getItemById_whenCommentAuthorUpdatedOrDeleted_thenReload() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of(comment));
+
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+        itemDetailCache.onUserUpdated(new UserUpdatedEvent(999L));
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+        itemDetailCache.onUserUpdated(new UserUpdatedEvent(booker.getId()));
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+        itemDetailCache.onUserDeleted(new UserDeletedEvent(booker.getId()));
+        itemService.getItemById(item.getId(), 999L, FieldSet.ALL);
+
+        verify(commentRepository, times(3)).findLatestByItemId(item.getId(), ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT);
+        verify(itemRepository, times(1)).findById(item.getId());
+    }
+
+    @Test
+    void getItemById_whenCommentsNotRequested_thenCommentsNotLoaded() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+
+        ItemWithBookingsDto result = itemService.getItemById(item.getId(), 999L, FieldSet.of("id", "name"));
+
+        assertNull(result.getComments());
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
@@ -226,7 +377,7 @@ class ItemServiceImplTest {
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> itemService.getItemById(999L, owner.getId())
+                () -> itemService.getItemById(999L, owner.getId(), FieldSet.ALL)
         );
 
         assertEquals("Вещь с ID 999 не найдена", exception.getMessage());
@@ -240,9 +391,9 @@ class ItemServiceImplTest {
                 .thenReturn(List.of(booking));
         when(bookingRepository.findNextBooking(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(List.of());
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of());
 
-        ItemWithBookingsDto result = itemService.getItemById(item.getId(), owner.getId());
+        ItemWithBookingsDto result = itemService.getItemById(item.getId(), owner.getId(), FieldSet.ALL);
 
         assertNotNull(result);
         assertNotNull(result.getLastBooking());
@@ -253,9 +404,9 @@ class ItemServiceImplTest {
     void getItemById_whenNotOwner_thenExcludeBookingInfo() {
         Long notOwnerId = 999L;
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of());
 
-        ItemWithBookingsDto result = itemService.getItemById(item.getId(), notOwnerId);
+        ItemWithBookingsDto result = itemService.getItemById(item.getId(), notOwnerId, FieldSet.ALL);
 
         assertNotNull(result);
         assertNull(result.getLastBooking());
@@ -266,34 +417,206 @@ class ItemServiceImplTest {
     @Test
     void getAllUserItems_whenUserHasItems_thenReturnItems() {
         List<Item> items = List.of(item);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findAllByOwnerId(anyLong())).thenReturn(items);
-        when(commentRepository.findByItemIdIn(anyList())).thenReturn(List.of());
+        when(itemRepository.findOwnerItemsPage(anyLong(), anyInt(), anyInt())).thenReturn(items);
+        when(commentRepository.findLatestByItemIdIn(anyList(), eq(ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT))).thenReturn(List.of());
         when(bookingRepository.findLastBookingsForItems(anyList(), any(LocalDateTime.class)))
                 .thenReturn(List.of());
         when(bookingRepository.findNextBookingsForItems(anyList(), any(LocalDateTime.class)))
                 .thenReturn(List.of());
 
-        List<ItemWithBookingsDto> result = itemService.getAllUserItems(owner.getId());
+        List<ItemWithBookingsDto> result = itemService.getAllUserItems(owner.getId(), 0, 10, ItemSort.DEFAULT, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository).findById(owner.getId());
-        verify(itemRepository).findAllByOwnerId(owner.getId());
+        verify(userDirectory).requireExists(owner.getId());
+        verify(itemRepository).findOwnerItemsPage(owner.getId(), 0, 10);
+    }
+
+    @Test
+    void getAllUserItems_whenSizeTooLarge_thenCapPageSize() {
+        when(itemRepository.findOwnerItemsPage(anyLong(), anyInt(), anyInt())).thenReturn(List.of());
+
+        List<ItemWithBookingsDto> result = itemService.getAllUserItems(owner.getId(), 0, 100_000, ItemSort.DEFAULT, FieldSet.ALL);
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository).findOwnerItemsPage(owner.getId(), 0, ItemServiceImpl.MAX_PAGE_SIZE);
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    @Test
+    void getAllUserItems_whenSortedByPopularity_thenPageMostBookedFirst() {
+        Item other = new Item();
+        other.setId(2L);
+        other.setName("Перфоратор");
+        other.setDescription("Мощный");
+        other.setAvailable(true);
+        other.setOwner(owner);
+        when(popularityTracker.rankedOwnerItems(owner.getId(), 0, 2)).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllByIdInWithOwner(List.of(2L, 1L))).thenReturn(List.of(item, other));
+
+        List<ItemWithBookingsDto> result = itemService.getAllUserItems(owner.getId(), 0, 2, ItemSort.POPULAR, FieldSet.ALL);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemWithBookingsDto::getId).toList());
+        verify(itemRepository, never()).findOwnerItemsPage(anyLong(), anyInt(), anyInt());
+        verify(itemRepository, never()).findOwnerItemsPageExcluding(anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAllUserItems_whenPopularPagePassesRankedItems_thenFillFromUnrankedByIdInSql() {
+        Item ranked = new Item();
+        ranked.setId(2L);
+        ranked.setName("Перфоратор");
+        ranked.setDescription("Мощный");
+        ranked.setAvailable(true);
+        ranked.setOwner(owner);
+        when(popularityTracker.rankedOwnerItems(owner.getId(), 1, 2)).thenReturn(List.of(2L));
+        when(popularityTracker.rankedOwnerItemIds(owner.getId())).thenReturn(Set.of(5L, 2L));
+        when(itemRepository.findAllByIdInWithOwner(List.of(2L))).thenReturn(List.of(ranked));
+        when(itemRepository.findOwnerItemsPageExcluding(owner.getId(), Set.of(5L, 2L), 0, 1))
+                .thenReturn(List.of(item));
+
+        List<ItemWithBookingsDto> result = itemService.getAllUserItems(owner.getId(), 1, 2, ItemSort.POPULAR, FieldSet.ALL);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemWithBookingsDto::getId).toList());
     }
 
     @Test
     void getAllUserItems_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(anyLong());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> itemService.getAllUserItems(999L)
+                () -> itemService.getAllUserItems(999L, 0, 10, ItemSort.DEFAULT, FieldSet.ALL)
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
-        verify(itemRepository, never()).findAllByOwnerId(anyLong());
+        verify(userDirectory).requireExists(999L);
+        verify(itemRepository, never()).findOwnerItemsPage(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getItemsByIds_whenMixedOwners_thenKeepRequestOrderAndLoadBookingsForOwnedOnly() {
+        Item foreignItem = new Item();
+        foreignItem.setId(2L);
+        foreignItem.setName("Пила");
+        foreignItem.setDescription("Ручная пила");
+        foreignItem.setAvailable(true);
+        foreignItem.setOwner(booker);
+        when(itemRepository.findAllByIdInWithOwner(List.of(2L, 1L, 3L))).thenReturn(List.of(item, foreignItem));
+        when(commentRepository.findLatestByItemIdIn(List.of(2L, 1L), ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT)).thenReturn(List.of(comment));
+        when(bookingRepository.findLastBookingsForItems(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findNextBookingsForItems(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        List<ItemWithBookingsDto> result = itemService.getItemsByIds(List.of(2L, 1L, 3L, 1L), owner.getId(), FieldSet.ALL);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemWithBookingsDto::getId).toList());
+        assertNull(result.get(0).getLastBooking());
+        assertEquals(booking.getId(), result.get(1).getLastBooking().getId());
+        assertEquals(1, result.get(1).getComments().size());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getItemsByIds_whenCallerOwnsNothing_thenSkipBookingQueries() {
+        when(itemRepository.findAllByIdInWithOwner(List.of(1L))).thenReturn(List.of(item));
+        when(commentRepository.findLatestByItemIdIn(List.of(1L), ItemServiceImpl.EMBEDDED_COMMENTS_LIMIT)).thenReturn(List.of());
+
+        List<ItemWithBookingsDto> result = itemService.getItemsByIds(List.of(1L), booker.getId(), FieldSet.ALL);
+
+        assertEquals(1, result.size());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getItemsByIds_whenTooManyIds_thenThrowValidationException() {
+        List<Long> ids = LongStream.rangeClosed(1, ItemServiceImpl.MAX_PAGE_SIZE + 1).boxed().toList();
+
+        assertThrows(ValidationException.class, () -> itemService.getItemsByIds(ids, owner.getId(), FieldSet.ALL));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void updateAvailability_whenNoIds_thenUpdateAllOwnerItemsChunkByChunk() {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(false);
+        when(itemRepository.findIdsByOwnerIdAndAvailableNot(owner.getId(), false, ItemServiceImpl.MAX_BULK_ITEM_IDS))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(itemRepository.setAvailableForOwnerItems(owner.getId(), List.of(1L, 2L), false)).thenReturn(2);
+        when(itemRepository.setAvailableForOwnerItems(owner.getId(), List.of(3L), false)).thenReturn(1);
+
+        ItemAvailabilityResultDto result = itemService.updateAvailability(availabilityDto, owner.getId());
+
+        assertEquals(3, result.getUpdated());
+        verify(eventPublisher).publishEvent(new ItemsBulkUpdatedEvent(List.of(1L, 2L)));
+        verify(eventPublisher).publishEvent(new ItemsBulkUpdatedEvent(List.of(3L)));
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(List.of(1L, 2L)));
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(List.of(3L)));
+        verify(itemChangeRepository).recordAll(eq(List.of(1L, 2L)), eq("UPDATED"), any(LocalDateTime.class));
+        verify(itemChangeRepository).recordAll(eq(List.of(3L)), eq("UPDATED"), any(LocalDateTime.class));
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void updateAvailability_whenIds_thenUpdateOnlyGivenItems() {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setItemIds(List.of(1L, 5L));
+        availabilityDto.setAvailable(true);
+        when(itemRepository.findIdsByOwnerIdAndIdInAndAvailableNot(owner.getId(), List.of(1L, 5L), true))
+                .thenReturn(List.of(1L));
+        when(itemRepository.setAvailableForOwnerItems(owner.getId(), List.of(1L), true)).thenReturn(1);
+
+        ItemAvailabilityResultDto result = itemService.updateAvailability(availabilityDto, owner.getId());
+
+        assertEquals(1, result.getUpdated());
+        verify(eventPublisher).publishEvent(new ItemsBulkUpdatedEvent(List.of(1L)));
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(List.of(1L)));
+        verify(itemChangeRepository).recordAll(eq(List.of(1L)), eq("UPDATED"), any(LocalDateTime.class));
+        verify(itemRepository, never()).findIdsByOwnerIdAndAvailableNot(anyLong(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void updateAvailability_whenNothingChanged_thenSkipUpdateAndEvent() {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(true);
+        when(itemRepository.findIdsByOwnerIdAndAvailableNot(owner.getId(), true, ItemServiceImpl.MAX_BULK_ITEM_IDS))
+                .thenReturn(List.of());
+
+        ItemAvailabilityResultDto result = itemService.updateAvailability(availabilityDto, owner.getId());
+
+        assertEquals(0, result.getUpdated());
+        verify(itemRepository, never()).setAvailableForOwnerItems(anyLong(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(itemChangeRepository);
+    }
+
+    @Test
+    void updateAvailability_whenAvailableMissing_thenThrowValidationException() {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setItemIds(List.of(1L));
+
+        assertThrows(ValidationException.class, () -> itemService.updateAvailability(availabilityDto, owner.getId()));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void updateAvailability_whenTooManyIds_thenThrowValidationException() {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(false);
+        availabilityDto.setItemIds(Collections.nCopies(ItemServiceImpl.MAX_BULK_ITEM_IDS + 1, 1L));
+
+        assertThrows(ValidationException.class, () -> itemService.updateAvailability(availabilityDto, owner.getId()));
+    }
+
+    @Test
+    void updateAvailability_whenUserNotFound_thenThrowNotFoundException() {
+        ItemAvailabilityDto availabilityDto = new ItemAvailabilityDto();
+        availabilityDto.setAvailable(false);
+        doThrow(new NotFoundException("Пользователь с ID 99 не найден")).when(userDirectory).requireExists(99L);
+
+        assertThrows(NotFoundException.class, () -> itemService.updateAvailability(availabilityDto, 99L));
     }
 
     @Test
@@ -303,16 +626,41 @@ class ItemServiceImplTest {
 
         when(itemRepository.searchAvailableItems(anyString())).thenReturn(items);
 
-        List<ItemDto> result = itemService.searchItems(searchText);
+        List<ItemDto> result = itemService.searchItems(searchText, ItemSort.DEFAULT);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         verify(itemRepository).searchAvailableItems(searchText.toLowerCase());
     }
 
+    @Test
+    void searchItems_whenSortedByPopularity_thenMostBookedFirst() {
+        Item other = new Item();
+        other.setId(2L);
+        other.setName("Дрель ударная");
+        other.setDescription("Мощная");
+        other.setAvailable(true);
+        other.setOwner(owner);
+        when(itemRepository.searchAvailableItems("дрель")).thenReturn(List.of(item, other));
+        when(popularityTracker.scores(List.of(1L, 2L))).thenReturn(Map.of(1L, 0, 2L, 3));
+
+        List<ItemDto> result = itemService.searchItems("дрель", ItemSort.POPULAR);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void searchItems_whenDefaultSort_thenSkipPopularity() {
+        when(itemRepository.searchAvailableItems(anyString())).thenReturn(List.of(item));
+
+        itemService.searchItems("дрель", ItemSort.DEFAULT);
+
+        verifyNoInteractions(popularityTracker);
+    }
+
     @Test
     void searchItems_whenEmptyText_thenReturnEmptyList() {
-        List<ItemDto> result = itemService.searchItems("");
+        List<ItemDto> result = itemService.searchItems("", ItemSort.DEFAULT);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -321,13 +669,76 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_whenNullText_thenReturnEmptyList() {
-        List<ItemDto> result = itemService.searchItems(null);
+        List<ItemDto> result = itemService.searchItems(null, ItemSort.DEFAULT);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
         verify(itemRepository, never()).searchAvailableItems(anyString());
     }
 
+    @Test
+    void fuzzySearchItems_whenIndexMatches_thenReturnItemsInRankOrder() {
+        Item other = new Item();
+        other.setId(2L);
+        other.setName("Дрели");
+        other.setDescription("Набор");
+        other.setAvailable(true);
+        other.setOwner(owner);
+        when(itemNameIndex.search("дрел")).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllByIdInAndAvailableTrue(anyCollection())).thenReturn(List.of(item, other));
+
+        List<ItemDto> result = itemService.fuzzySearchItems("дрел", ItemSort.DEFAULT);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+    }
+
+    @Test
+    void fuzzySearchItems_whenNoIndexMatches_thenSkipDatabase() {
+        when(itemNameIndex.search(anyString())).thenReturn(List.of());
+
+        List<ItemDto> result = itemService.fuzzySearchItems("xyz", ItemSort.DEFAULT);
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).findAllByIdInAndAvailableTrue(anyCollection());
+    }
+
+    @Test
+    void getSuggestedRequests_whenOwner_thenReturnRequestsInMatchOrder() {
+        ItemRequest first = new ItemRequest();
+        first.setId(7L);
+        first.setDescription("Нужна дрель");
+        ItemRequest second = new ItemRequest();
+        second.setId(3L);
+        second.setDescription("Ищу аккумуляторную дрель на выходные");
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(requestMatcher.match(item.getName() + " " + item.getDescription(), owner.getId()))
+                .thenReturn(List.of(7L, 3L));
+        when(itemRequestRepository.findAllByIdInWithRequestor(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        List<ItemRequestDto> result = itemService.getSuggestedRequests(item.getId(), owner.getId());
+
+        assertEquals(List.of(7L, 3L), result.stream().map(ItemRequestDto::getId).toList());
+    }
+
+    @Test
+    void getSuggestedRequests_whenNoMatches_thenSkipDatabase() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(requestMatcher.match(anyString(), anyLong())).thenReturn(List.of());
+
+        assertTrue(itemService.getSuggestedRequests(item.getId(), owner.getId()).isEmpty());
+        verifyNoInteractions(itemRequestRepository);
+    }
+
+    @Test
+    void getSuggestedRequests_whenNotOwner_thenThrowNotFoundException() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        assertThrows(NotFoundException.class, () -> itemService.getSuggestedRequests(item.getId(), 999L));
+        verifyNoInteractions(requestMatcher);
+    }
+
     @Test
     void deleteItem_whenOwner_thenItemDeleted() {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
@@ -337,6 +748,10 @@ class ItemServiceImplTest {
 
         verify(itemRepository).findById(item.getId());
         verify(itemRepository).deleteById(item.getId());
+        verify(eventPublisher).publishEvent(ItemDeletedEvent.of(item.getId()));
+        verify(eventPublisher).publishEvent(ItemChangedEvent.of(item.getId()));
+        verify(itemChangeRepository).save(argThat(change ->
+                change.getItemId().equals(item.getId()) && change.getType() == ItemChangeType.DELETED));
     }
 
     @Test
@@ -359,21 +774,27 @@ class ItemServiceImplTest {
         CommentDto commentDto = new CommentDto();
         commentDto.setText("Отличная вещь!");
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndItemIdAndEndBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                anyLong(), anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+        when(userDirectory.getName(booker.getId())).thenReturn("Booker");
 
         CommentDto result = itemService.addComment(item.getId(), commentDto, booker.getId());
 
         assertNotNull(result);
         assertEquals(comment.getText(), result.getText());
-        verify(itemRepository).findById(item.getId());
-        verify(userRepository).findById(booker.getId());
-        verify(bookingRepository).findByBookerIdAndItemIdAndEndBefore(
-                eq(booker.getId()), eq(item.getId()), any(LocalDateTime.class));
+        assertEquals("Booker", result.getAuthorName());
+        verify(itemRepository).findByIdForUpdate(item.getId());
+        verify(userDirectory).getReference(booker.getId());
+        verify(bookingRepository).existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(booker.getId()), eq(item.getId()), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
         verify(commentRepository).save(any(Comment.class));
+        assertEquals(1L, item.getCommentCount());
+        assertEquals(comment.getCreated(), item.getLastCommentAt());
+        verify(eventPublisher).publishEvent(ItemChangedEvent.of(item.getId()));
     }
 
     @Test
@@ -381,10 +802,11 @@ class ItemServiceImplTest {
         CommentDto commentDto = new CommentDto();
         commentDto.setText("Пытаюсь оставить комментарий");
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndItemIdAndEndBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
-                .thenReturn(List.of());
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                anyLong(), anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(false);
 
         ValidationException exception = assertThrows(
                 ValidationException.class,
@@ -392,17 +814,87 @@ class ItemServiceImplTest {
         );
 
         assertTrue(exception.getMessage().contains("не брал эту вещь"));
-        verify(bookingRepository).findByBookerIdAndItemIdAndEndBefore(
-                eq(booker.getId()), eq(item.getId()), any(LocalDateTime.class));
+        verify(bookingRepository).existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(booker.getId()), eq(item.getId()), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
+    @Test
+    void addComment_whenEligibilityAlreadyConfirmed_thenSkipBookingQuery() {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Отличная вещь!");
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                anyLong(), anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+
+        itemService.addComment(item.getId(), commentDto, booker.getId());
+        itemService.addComment(item.getId(), commentDto, booker.getId());
+
+        verify(bookingRepository, times(1)).existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(booker.getId()), eq(item.getId()), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(commentRepository, times(2)).save(any(Comment.class));
+    }
+
+    @Test
+    void addComment_whenPreviouslyIneligible_thenCheckAgain() {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Отличная вещь!");
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userDirectory.getReference(anyLong())).thenReturn(booker);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                anyLong(), anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(false, true);
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+
+        assertThrows(ValidationException.class,
+                () -> itemService.addComment(item.getId(), commentDto, booker.getId()));
+        CommentDto result = itemService.addComment(item.getId(), commentDto, booker.getId());
+
+        assertNotNull(result);
+        verify(bookingRepository, times(2)).existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(booker.getId()), eq(item.getId()), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getItemComments_whenNoCursor_thenReturnLatestPage() {
+        when(itemRepository.existsById(anyLong())).thenReturn(true);
+        when(commentRepository.findLatestByItemId(anyLong(), anyInt())).thenReturn(List.of(comment));
+
+        List<CommentDto> result = itemService.getItemComments(item.getId(), null, 5);
+
+        assertEquals(1, result.size());
+        assertEquals("Booker", result.get(0).getAuthorName());
+        verify(commentRepository).findLatestByItemId(item.getId(), 5);
+        verify(commentRepository, never()).findLatestByItemIdAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getItemComments_whenCursor_thenReturnPageAfterCursor() {
+        when(itemRepository.existsById(anyLong())).thenReturn(true);
+        when(commentRepository.findLatestByItemIdAfter(anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+
+        List<CommentDto> result = itemService.getItemComments(item.getId(), 7L, 1000);
+
+        assertTrue(result.isEmpty());
+        verify(commentRepository).findLatestByItemIdAfter(item.getId(), 7L, ItemServiceImpl.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void getItemComments_whenItemNotFound_thenThrowNotFoundException() {
+        when(itemRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemComments(999L, null, 10));
+    }
+
     @Test
     void addComment_whenItemNotFound_thenThrowNotFoundException() {
         CommentDto commentDto = new CommentDto();
         commentDto.setText("Комментарий");
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -410,7 +902,7 @@ class ItemServiceImplTest {
         );
 
         assertEquals("Вещь с ID 999 не найдена", exception.getMessage());
-        verify(itemRepository).findById(999L);
+        verify(itemRepository).findByIdForUpdate(999L);
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
@@ -419,8 +911,8 @@ class ItemServiceImplTest {
         CommentDto commentDto = new CommentDto();
         commentDto.setText("Комментарий");
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userDirectory.getReference(anyLong())).thenThrow(new NotFoundException("Пользователь с ID 999 не найден"));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -428,7 +920,7 @@ class ItemServiceImplTest {
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        verify(userDirectory).getReference(999L);
         verify(commentRepository, never()).save(any(Comment.class));
     }
-}
\ No newline at end of file
+}
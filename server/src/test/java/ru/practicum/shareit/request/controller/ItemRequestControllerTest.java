@@ -8,10 +8,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.dto.RequestAnswerDto;
+import ru.practicum.shareit.request.notification.RequestAnswerNotifier;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.time.LocalDateTime;
@@ -23,13 +27,16 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -44,6 +51,9 @@ class ItemRequestControllerTest {
     @MockBean
     private ItemRequestService requestService;
 
+    @MockBean
+    private RequestAnswerNotifier answerNotifier;
+
     private CreateItemRequestDto createRequestDto;
     private ItemRequestDto itemRequestDto;
     private ItemRequestWithItemsDto requestWithItemsDto;
@@ -139,7 +149,7 @@ class ItemRequestControllerTest {
     @Test
     void getAllRequests_whenValidPagination_thenReturnRequests() throws Exception {
         List<ItemRequestWithItemsDto> requests = List.of(requestWithItemsDto);
-        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt())).thenReturn(requests);
+        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt(), any())).thenReturn(requests);
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L)
@@ -148,24 +158,37 @@ class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(requestService, times(1)).getAllRequests(eq(1L), eq(0), eq(10));
+        verify(requestService, times(1)).getAllRequests(eq(1L), eq(0), eq(10), isNull());
     }
 
     @Test
     void getAllRequests_whenDefaultPagination_thenReturnRequests() throws Exception {
         List<ItemRequestWithItemsDto> requests = List.of(requestWithItemsDto);
-        when(requestService.getAllRequests(anyLong(), eq(0), eq(10))).thenReturn(requests);
+        when(requestService.getAllRequests(anyLong(), eq(0), eq(10), isNull())).thenReturn(requests);
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(requestService, times(1)).getAllRequests(eq(1L), eq(0), eq(10));
+        verify(requestService, times(1)).getAllRequests(eq(1L), eq(0), eq(10), isNull());
+    }
+
+    @Test
+    void getAllRequests_whenAfterGiven_thenPassCursor() throws Exception {
+        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "5")
+                        .param("size", "20"))
+                .andExpect(status().isOk());
+
+        verify(requestService, times(1)).getAllRequests(eq(1L), eq(0), eq(20), eq(5L));
     }
 
     @Test
     void getAllRequests_whenUserNotFound_thenReturnNotFound() throws Exception {
-        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt()))
+        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenThrow(new NotFoundException("Пользователь не найден"));
 
         mockMvc.perform(get("/requests/all")
@@ -174,7 +197,7 @@ class ItemRequestControllerTest {
                         .param("size", "10"))
                 .andExpect(status().isNotFound());
 
-        verify(requestService, times(1)).getAllRequests(eq(999L), eq(0), eq(10));
+        verify(requestService, times(1)).getAllRequests(eq(999L), eq(0), eq(10), isNull());
     }
 
     @Test
@@ -184,7 +207,7 @@ class ItemRequestControllerTest {
                         .param("size", "10"))
                 .andExpect(status().isBadRequest());
 
-        verify(requestService, never()).getAllRequests(anyLong(), anyInt(), anyInt());
+        verify(requestService, never()).getAllRequests(anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -231,4 +254,35 @@ class ItemRequestControllerTest {
 
         verify(requestService, never()).getRequestById(anyLong(), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void pollAnswers_whenAnswerAvailable_thenReturnAnswers() throws Exception {
+        DeferredResult<List<RequestAnswerDto>> answers = new DeferredResult<>();
+        answers.setResult(List.of(new RequestAnswerDto(7L, 1L, 10L, "Дрель", 2L, LocalDateTime.now())));
+        when(answerNotifier.poll(anyLong(), anyLong(), anyInt())).thenReturn(answers);
+
+        MvcResult pending = mockMvc.perform(get("/requests/answers")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(7)))
+                .andExpect(jsonPath("$[0].itemName", is("Дрель")));
+
+        verify(answerNotifier, times(1)).poll(eq(1L), eq(5L), eq(30));
+    }
+
+    @Test
+    void pollAnswers_whenUserNotFound_thenReturnNotFound() throws Exception {
+        when(answerNotifier.poll(anyLong(), anyLong(), anyInt()))
+                .thenThrow(new NotFoundException("Пользователь не найден"));
+
+        mockMvc.perform(get("/requests/answers")
+                        .header("X-Sharer-User-Id", 999L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.request.feed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class RequestFeedTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private ItemRequestRepository requestRepository;
+    private ItemRepository itemRepository;
+    private RequestFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        requestRepository = mock(ItemRequestRepository.class);
+        itemRepository = mock(ItemRepository.class);
+        feed = new RequestFeed(requestRepository, itemRepository, 3);
+    }
+
+    @Test
+    void page_whenFeedHoldsAllRequests_thenSkipsCallersOwn() {
+        create(1L, 2L, 3);
+        create(2L, 1L, 2);
+        create(3L, 2L, 1);
+
+        assertEquals(List.of(3L, 1L), ids(feed.page(1L, 0, 10, null)));
+        assertEquals(List.of(1L), ids(feed.page(1L, 1, 10, null)));
+    }
+
+    @Test
+    void page_whenRequestsArriveOutOfOrder_thenNewestFirst() {
+        create(1L, 2L, 3);
+        create(3L, 2L, 1);
+        create(2L, 2L, 2);
+
+        assertEquals(List.of(3L, 2L, 1L), ids(feed.page(1L, 0, 10, null)));
+    }
+
+    @Test
+    void page_whenPageRunsPastDroppedRequests_thenEmpty() {
+        for (long id = 1; id <= 4; id++) {
+            create(id, 2L, (int) (10 - id));
+        }
+
+        assertEquals(List.of(4L, 3L), ids(feed.page(1L, 0, 2, null)));
+        assertTrue(feed.page(1L, 2, 2, null).isEmpty());
+    }
+
+    @Test
+    void page_whenCursorGiven_thenContinuesAfterIt() {
+        create(1L, 2L, 3);
+        create(2L, 2L, 2);
+        create(3L, 2L, 1);
+
+        assertEquals(List.of(2L, 1L), ids(feed.page(1L, 0, 10, 3L)));
+        assertTrue(feed.page(1L, 0, 10, 99L).isEmpty());
+    }
+
+    @Test
+    void onUserDeleted_thenRequestsOfThatUserRemoved() {
+        create(1L, 2L, 3);
+        create(2L, 3L, 2);
+        create(3L, 2L, 1);
+
+        feed.onUserDeleted(new UserDeletedEvent(2L));
+
+        assertEquals(List.of(2L), ids(feed.page(1L, 0, 10, null)));
+        assertTrue(feed.page(1L, 0, 10, 3L).isEmpty());
+    }
+
+    @Test
+    void onRequestAnswered_thenItemAddedWithoutQuery() {
+        create(1L, 2L, 1);
+
+        feed.onRequestAnswered(new ItemRequestAnsweredEvent(1L, 10L, "Дрель", 5L));
+
+        List<ItemRequestWithItemsDto.ResponseItemDto> items = feed.page(1L, 0, 10, null).orElseThrow().get(0).getItems();
+        assertEquals(1, items.size());
+        assertEquals("Дрель", items.get(0).getName());
+        assertEquals(5L, items.get(0).getOwnerId());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void onItemChanged_whenItemAnswersKeptRequest_thenItemsReloaded() {
+        create(1L, 2L, 1);
+        feed.onRequestAnswered(new ItemRequestAnsweredEvent(1L, 10L, "Дрель", 5L));
+        when(itemRepository.findDtosByRequestIdIn(anyList()))
+                .thenReturn(List.of(new ItemDto(10L, "Перфоратор", "Мощный", true, 1L, 5L, 0L, null)));
+
+        feed.onItemChanged(ItemChangedEvent.of(10L));
+        feed.onItemChanged(ItemChangedEvent.of(11L));
+
+        assertEquals("Перфоратор", feed.page(1L, 0, 10, null).orElseThrow().get(0).getItems().get(0).getName());
+        verify(itemRepository, times(1)).findDtosByRequestIdIn(List.of(1L));
+    }
+
+    @Test
+    void reload_whenRequestCreatedDuringQuery_thenEventAppliedAfterReload() throws Exception {
+        ItemRequest loaded = new ItemRequest();
+        loaded.setId(1L);
+        loaded.setDescription("Запрос 1");
+        loaded.setCreated(NOW.minusHours(2));
+        User requestor = new User();
+        requestor.setId(2L);
+        loaded.setRequestor(requestor);
+        Thread creator = new Thread(() -> create(2L, 3L, 1));
+        when(requestRepository.findNewest(3)).thenAnswer(invocation -> {
+            creator.start();
+            creator.join(200);
+            return List.of(loaded);
+        });
+
+        feed.reload();
+        creator.join();
+
+        assertEquals(List.of(2L, 1L), ids(feed.page(1L, 0, 10, null)));
+    }
+
+    private void create(Long requestId, Long requestorId, int hoursAgo) {
+        feed.onRequestCreated(new ItemRequestCreatedEvent(requestId, requestorId, "Запрос " + requestId,
+                NOW.minusHours(hoursAgo)));
+    }
+
+    private static List<Long> ids(Optional<List<ItemRequestWithItemsDto>> page) {
+        return page.orElseThrow().stream()
+                .map(ItemRequestWithItemsDto::getId)
+                .toList();
+    }
+}
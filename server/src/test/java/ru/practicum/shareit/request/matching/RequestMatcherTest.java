@@ -0,0 +1,71 @@
+package ru.practicum.shareit.request.matching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestMatcherTest {
+    private static final Long OWNER_ID = 1L;
+
+    private RequestMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new RequestMatcher(mock(ItemRequestRepository.class));
+        matcher.put(10L, 2L, "Нужна дрель");
+        matcher.put(11L, 3L, "Ищу аккумуляторную дрель и отвертку");
+        matcher.put(12L, 2L, "Палатка на выходные");
+    }
+
+    @Test
+    void match_whenTokensShared_thenBestCoveredRequestsFirst() {
+        List<Long> result = matcher.match("Дрель Bosch нужна каждому", OWNER_ID);
+
+        assertEquals(List.of(10L, 11L), result);
+    }
+
+    @Test
+    void match_whenOwnRequest_thenExcluded() {
+        assertEquals(List.of(11L), matcher.match("Дрель", 2L));
+    }
+
+    @Test
+    void match_whenOnlyShortTokensShared_thenNoMatch() {
+        matcher.put(13L, 2L, "Ищу и то и это");
+
+        assertTrue(matcher.match("и то", OWNER_ID).isEmpty());
+    }
+
+    @Test
+    void remove_whenRequestAnswered_thenNoLongerSuggested() {
+        matcher.remove(10L);
+
+        assertEquals(List.of(11L), matcher.match("Дрель", OWNER_ID));
+    }
+
+    @Test
+    void onRequestCreatedAndAnswered_thenOpenedAndClosed() {
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(13L, 2L, "Нужна стремянка", LocalDateTime.now()));
+        assertEquals(List.of(13L), matcher.match("Стремянка", OWNER_ID));
+
+        matcher.onRequestAnswered(new ItemRequestAnsweredEvent(13L, 20L, "Стремянка", OWNER_ID));
+
+        assertTrue(matcher.match("Стремянка", OWNER_ID).isEmpty());
+    }
+
+    @Test
+    void put_whenDescriptionChanged_thenOldTokensForgotten() {
+        matcher.put(12L, 2L, "Нужен велосипед");
+
+        assertTrue(matcher.match("Палатка", OWNER_ID).isEmpty());
+        assertEquals(List.of(12L), matcher.match("Велосипед", OWNER_ID));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.request.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.context.request.async.DeferredResult;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.request.dto.RequestAnswerDto;
+import ru.practicum.shareit.request.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RequestAnswerNotifierTest {
+    private static final Long REQUESTOR_ID = 1L;
+
+    private ItemRequestRepository requestRepository;
+    private UserDirectory userDirectory;
+    private TaskScheduler taskScheduler;
+    private RequestAnswerNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        requestRepository = mock(ItemRequestRepository.class);
+        userDirectory = mock(UserDirectory.class);
+        taskScheduler = mock(TaskScheduler.class);
+        notifier = new RequestAnswerNotifier(requestRepository, userDirectory, taskScheduler, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void poll_whenAnswersAfterCursor_thenCompletesImmediately() {
+        RequestAnswerDto answer = answer(8L);
+        when(requestRepository.findAnswersAfter(eq(REQUESTOR_ID), eq(5L), any(), anyInt())).thenReturn(List.of(answer));
+
+        DeferredResult<List<RequestAnswerDto>> result = notifier.poll(REQUESTOR_ID, 5L, 30);
+
+        assertEquals(List.of(answer), result.getResult());
+    }
+
+    @Test
+    void poll_whenNothingNew_thenCompletedOnceAnswerPassesVisibilityLag() {
+        when(requestRepository.findAnswersAfter(anyLong(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        DeferredResult<List<RequestAnswerDto>> result = notifier.poll(REQUESTOR_ID, 5L, 30);
+        assertFalse(result.hasResult());
+
+        RequestAnswerDto answer = answer(9L);
+        when(requestRepository.findRequestorIdById(3L)).thenReturn(Optional.of(REQUESTOR_ID));
+        when(requestRepository.findAnswersAfter(eq(REQUESTOR_ID), eq(5L), any(), anyInt())).thenReturn(List.of(answer));
+        notifier.onRequestAnswered(new ItemRequestAnsweredEvent(3L, 20L, "Дрель", 2L));
+        assertFalse(result.hasResult());
+
+        ArgumentCaptor<Runnable> wake = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(wake.capture(), any(Instant.class));
+        LocalDateTime before = LocalDateTime.now();
+        wake.getValue().run();
+
+        assertEquals(List.of(answer), result.getResult());
+        ArgumentCaptor<LocalDateTime> visibleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(requestRepository, times(2)).findAnswersAfter(eq(REQUESTOR_ID), eq(5L), visibleBefore.capture(), anyInt());
+        assertFalse(visibleBefore.getValue().isAfter(LocalDateTime.now().minusSeconds(5)));
+        assertFalse(visibleBefore.getValue().isBefore(before.minusSeconds(5)));
+    }
+
+    @Test
+    void onRequestAnswered_whenNoVisibilityLag_thenWakesImmediately() {
+        notifier = new RequestAnswerNotifier(requestRepository, userDirectory, taskScheduler, Duration.ZERO);
+        when(requestRepository.findAnswersAfter(anyLong(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        DeferredResult<List<RequestAnswerDto>> result = notifier.poll(REQUESTOR_ID, 5L, 30);
+
+        RequestAnswerDto answer = answer(9L);
+        when(requestRepository.findRequestorIdById(3L)).thenReturn(Optional.of(REQUESTOR_ID));
+        when(requestRepository.findAnswersAfter(eq(REQUESTOR_ID), eq(5L), any(), anyInt())).thenReturn(List.of(answer));
+        notifier.onRequestAnswered(new ItemRequestAnsweredEvent(3L, 20L, "Дрель", 2L));
+
+        assertEquals(List.of(answer), result.getResult());
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void onRequestAnswered_whenAnotherRequestor_thenPollKeepsWaiting() {
+        when(requestRepository.findAnswersAfter(anyLong(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        DeferredResult<List<RequestAnswerDto>> result = notifier.poll(REQUESTOR_ID, 0L, 30);
+        when(requestRepository.findRequestorIdById(3L)).thenReturn(Optional.of(2L));
+
+        notifier.onRequestAnswered(new ItemRequestAnsweredEvent(3L, 20L, "Дрель", 4L));
+        ArgumentCaptor<Runnable> wake = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(wake.capture(), any(Instant.class));
+        wake.getValue().run();
+
+        assertFalse(result.hasResult());
+        verify(requestRepository, times(1)).findAnswersAfter(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void poll_whenUserNotFound_thenThrowNotFoundException() {
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(999L);
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> notifier.poll(999L, 0L, 30));
+
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+        verifyNoInteractions(requestRepository);
+    }
+
+    private static RequestAnswerDto answer(Long seq) {
+        return new RequestAnswerDto(seq, 3L, 20L, "Дрель", 2L, LocalDateTime.now());
+    }
+}
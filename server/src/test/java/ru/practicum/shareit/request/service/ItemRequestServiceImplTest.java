@@ -6,16 +6,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.feed.RequestFeed;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserDirectory;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -33,11 +36,18 @@ class ItemRequestServiceImplTest {
     private ItemRequestRepository requestRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
 
     @Mock
     private ItemService itemService;
 
+
+    @Mock
+    private RequestFeed requestFeed;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemRequestServiceImpl requestService;
 
@@ -73,7 +83,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void createRequest_whenValid_thenRequestCreated() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
+        when(userDirectory.getReference(anyLong())).thenReturn(requestor);
         when(requestRepository.save(any(ItemRequest.class))).thenReturn(itemRequest);
 
         ItemRequestDto result = requestService.createRequest(createRequestDto, requestor.getId());
@@ -81,13 +91,15 @@ class ItemRequestServiceImplTest {
         assertNotNull(result);
         assertEquals(itemRequest.getId(), result.getId());
         assertEquals(itemRequest.getDescription(), result.getDescription());
-        verify(userRepository).findById(requestor.getId());
+        verify(userDirectory).getReference(requestor.getId());
         verify(requestRepository).save(any(ItemRequest.class));
+        verify(eventPublisher).publishEvent(new ItemRequestCreatedEvent(itemRequest.getId(), requestor.getId(),
+                itemRequest.getDescription(), itemRequest.getCreated()));
     }
 
     @Test
     void createRequest_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userDirectory.getReference(anyLong())).thenThrow(new NotFoundException("Пользователь с ID 999 не найден"));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -95,7 +107,7 @@ class ItemRequestServiceImplTest {
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        verify(userDirectory).getReference(999L);
         verify(requestRepository, never()).save(any(ItemRequest.class));
     }
 
@@ -104,7 +116,6 @@ class ItemRequestServiceImplTest {
         List<ItemRequest> requests = List.of(itemRequest);
         List<ItemDto> items = List.of(itemDto);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
         when(requestRepository.findAllByRequestorIdOrderByCreatedDesc(anyLong())).thenReturn(requests);
         when(itemService.getItemsByRequestIds(anyList())).thenReturn(
                 Collections.singletonMap(itemRequest.getId(), items)
@@ -118,14 +129,14 @@ class ItemRequestServiceImplTest {
         assertFalse(result.get(0).getItems().isEmpty());
         assertEquals(itemDto.getId(), result.get(0).getItems().get(0).getId());
 
-        verify(userRepository).findById(requestor.getId());
+        verify(userDirectory).requireExists(requestor.getId());
         verify(requestRepository).findAllByRequestorIdOrderByCreatedDesc(requestor.getId());
         verify(itemService).getItemsByRequestIds(List.of(itemRequest.getId()));
     }
 
     @Test
     void getUserRequests_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(anyLong());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -133,12 +144,12 @@ class ItemRequestServiceImplTest {
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        verify(userDirectory).requireExists(999L);
         verify(requestRepository, never()).findAllByRequestorIdOrderByCreatedDesc(anyLong());
     }
 
     @Test
-    void getAllRequests_whenValidPagination_thenReturnRequests() {
+    void getAllRequests_whenNoPagination_thenReturnDefaultPage() {
         User otherUser = new User();
         otherUser.setId(2L);
         otherUser.setName("Other User");
@@ -151,70 +162,90 @@ class ItemRequestServiceImplTest {
 
         List<ItemRequest> allRequests = List.of(itemRequest, otherRequest);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(anyLong())).thenReturn(allRequests);
+        when(requestRepository.findOthersPage(anyLong(), anyInt(), anyInt())).thenReturn(allRequests);
         when(itemService.getItemsByRequestIds(anyList())).thenReturn(Collections.emptyMap());
 
-        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), null, null);
+        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), null, null, null);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository).findById(requestor.getId());
-        verify(requestRepository).findAllByRequestorIdNotOrderByCreatedDesc(requestor.getId());
+        verify(userDirectory).requireExists(requestor.getId());
+        verify(requestRepository).findOthersPage(requestor.getId(), 0, ItemRequestServiceImpl.DEFAULT_PAGE_SIZE);
     }
 
     @Test
     void getAllRequests_whenWithPagination_thenReturnPaginatedResults() {
-        List<ItemRequest> allRequests = List.of(
-                itemRequest,
+        List<ItemRequest> page = List.of(
                 createRequest(2L, "Request 2"),
-                createRequest(3L, "Request 3"),
-                createRequest(4L, "Request 4"),
-                createRequest(5L, "Request 5")
+                createRequest(3L, "Request 3")
         );
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(anyLong())).thenReturn(allRequests);
+        when(requestRepository.findOthersPage(anyLong(), anyInt(), anyInt())).thenReturn(page);
         when(itemService.getItemsByRequestIds(anyList())).thenReturn(Collections.emptyMap());
 
-        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), 1, 2);
+        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), 1, 2, null);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository).findById(requestor.getId());
-        verify(requestRepository).findAllByRequestorIdNotOrderByCreatedDesc(requestor.getId());
+        verify(userDirectory).requireExists(requestor.getId());
+        verify(requestRepository).findOthersPage(requestor.getId(), 1, 2);
     }
 
     @Test
     void getAllRequests_whenFromOutOfRange_thenReturnEmptyList() {
-        List<ItemRequest> allRequests = List.of(itemRequest);
+        when(requestRepository.findOthersPage(anyLong(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(anyLong())).thenReturn(allRequests);
-
-        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), 10, 5);
+        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), 10, 5, null);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
+        verify(itemService, never()).getItemsByRequestIds(anyList());
+    }
+
+    @Test
+    void getAllRequests_whenAfterGiven_thenUseKeysetPage() {
+        when(requestRepository.findOthersPageAfter(anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of(createRequest(3L, "Request 3")));
+        when(itemService.getItemsByRequestIds(anyList())).thenReturn(Collections.emptyMap());
+
+        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), 0, 500, 4L);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getId());
+        verify(requestRepository).findOthersPageAfter(requestor.getId(), 4L, ItemRequestServiceImpl.MAX_PAGE_SIZE);
+        verify(requestRepository, never()).findOthersPage(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAllRequests_whenFeedHasPage_thenSkipDatabase() {
+        ItemRequestWithItemsDto cachedRequest = new ItemRequestWithItemsDto();
+        cachedRequest.setId(7L);
+        when(requestFeed.page(anyLong(), anyInt(), anyInt(), any())).thenReturn(Optional.of(List.of(cachedRequest)));
+
+        List<ItemRequestWithItemsDto> result = requestService.getAllRequests(requestor.getId(), 0, 10, null);
+
+        assertEquals(List.of(cachedRequest), result);
+        verify(requestFeed).page(requestor.getId(), 0, 10, null);
+        verify(requestRepository, never()).findOthersPage(anyLong(), anyInt(), anyInt());
+        verify(itemService, never()).getItemsByRequestIds(anyList());
     }
 
     @Test
     void getAllRequests_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(anyLong());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> requestService.getAllRequests(999L, 0, 10)
+                () -> requestService.getAllRequests(999L, 0, 10, null)
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
+        verify(userDirectory).requireExists(999L);
     }
 
     @Test
     void getRequestById_whenRequestExists_thenReturnRequestWithItems() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(requestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
+        when(requestRepository.findByIdWithRequestor(anyLong())).thenReturn(Optional.of(itemRequest));
         when(itemService.getItemsByRequestId(anyLong())).thenReturn(List.of(itemDto));
 
         ItemRequestWithItemsDto result = requestService.getRequestById(itemRequest.getId(), requestor.getId());
@@ -225,15 +256,14 @@ class ItemRequestServiceImplTest {
         assertFalse(result.getItems().isEmpty());
         assertEquals(itemDto.getId(), result.getItems().get(0).getId());
 
-        verify(userRepository).findById(requestor.getId());
-        verify(requestRepository).findById(itemRequest.getId());
+        verify(userDirectory).requireExists(requestor.getId());
+        verify(requestRepository).findByIdWithRequestor(itemRequest.getId());
         verify(itemService).getItemsByRequestId(itemRequest.getId());
     }
 
     @Test
     void getRequestById_whenRequestNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(requestRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(requestRepository.findByIdWithRequestor(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -241,13 +271,13 @@ class ItemRequestServiceImplTest {
         );
 
         assertEquals("Запрос с ID 999 не найден", exception.getMessage());
-        verify(requestRepository).findById(999L);
+        verify(requestRepository).findByIdWithRequestor(999L);
         verify(itemService, never()).getItemsByRequestId(anyLong());
     }
 
     @Test
     void getRequestById_whenUserNotFound_thenThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с ID 999 не найден")).when(userDirectory).requireExists(anyLong());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -255,14 +285,13 @@ class ItemRequestServiceImplTest {
         );
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
-        verify(userRepository).findById(999L);
-        verify(requestRepository, never()).findById(anyLong());
+        verify(userDirectory).requireExists(999L);
+        verify(requestRepository, never()).findByIdWithRequestor(anyLong());
     }
 
     @Test
     void getRequestById_whenNoItemsForRequest_thenReturnRequestWithEmptyItems() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(requestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
+        when(requestRepository.findByIdWithRequestor(anyLong())).thenReturn(Optional.of(itemRequest));
         when(itemService.getItemsByRequestId(anyLong())).thenReturn(List.of());
 
         ItemRequestWithItemsDto result = requestService.getRequestById(itemRequest.getId(), requestor.getId());
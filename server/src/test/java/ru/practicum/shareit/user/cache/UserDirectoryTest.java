@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDirectoryTest {
+    private UserRepository userRepository;
+    private UserDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        directory = new UserDirectory(userRepository, 100);
+        when(userRepository.findNameById(1L)).thenReturn(Optional.of("John"));
+    }
+
+    @Test
+    void requireExists_whenCalledTwice_thenQueriesOnce() {
+        directory.requireExists(1L);
+        directory.requireExists(1L);
+
+        verify(userRepository, times(1)).findNameById(1L);
+    }
+
+    @Test
+    void requireExists_whenUserMissing_thenThrowAndDoNotCache() {
+        when(userRepository.findNameById(999L)).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> directory.requireExists(999L));
+        assertThrows(NotFoundException.class, () -> directory.requireExists(999L));
+
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+        verify(userRepository, times(2)).findNameById(999L);
+    }
+
+    @Test
+    void getName_whenUserKnown_thenReturnCachedName() {
+        directory.requireExists(1L);
+
+        assertEquals("John", directory.getName(1L));
+        verify(userRepository, times(1)).findNameById(1L);
+    }
+
+    @Test
+    void getReference_whenUserKnown_thenReturnReferenceWithoutLoading() {
+        User reference = new User();
+        when(userRepository.getReferenceById(1L)).thenReturn(reference);
+
+        assertSame(reference, directory.getReference(1L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void onUserDeleted_thenNextLookupQueriesAgain() {
+        directory.requireExists(1L);
+        when(userRepository.findNameById(1L)).thenReturn(Optional.empty());
+
+        directory.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertThrows(NotFoundException.class, () -> directory.requireExists(1L));
+    }
+
+    @Test
+    void onUserUpdateCompleted_thenNextLookupQueriesAgain() {
+        directory.requireExists(1L);
+
+        directory.onUserUpdateCompleted(new UserUpdatedEvent(1L));
+        directory.requireExists(1L);
+
+        verify(userRepository, times(2)).findNameById(1L);
+    }
+}
@@ -1,35 +1,50 @@
 package ru.practicum.shareit.user.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserBulkConflictDto;
+import ru.practicum.shareit.user.dto.UserBulkResultDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
+import ru.practicum.shareit.user.service.UserProvisioningService;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -44,6 +59,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserProvisioningService userProvisioningService;
+
     private UserDto userDto;
 
     @BeforeEach
@@ -69,6 +87,25 @@ class UserControllerTest {
         verify(userService, times(1)).createUser(any(UserDto.class));
     }
 
+    @Test
+    void provisionUsers_whenCalled_thenReturnCreatedAndConflicts() throws Exception {
+        UserBulkResultDto result = new UserBulkResultDto();
+        result.getCreated().add(userDto);
+        result.getConflicts().add(new UserBulkConflictDto(1, "john@example.com", "Email уже указан в записи 0"));
+        when(userProvisioningService.provisionUsers(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(userDto, userDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", hasSize(1)))
+                .andExpect(jsonPath("$.created[0].id", is(1)))
+                .andExpect(jsonPath("$.conflicts[0].index", is(1)))
+                .andExpect(jsonPath("$.conflicts[0].message", is("Email уже указан в записи 0")));
+
+        verify(userProvisioningService, times(1)).provisionUsers(List.of(userDto, userDto));
+    }
+
     @Test
     void updateUser_whenValidData_thenReturnUpdatedUser() throws Exception {
         UserDto updateDto = new UserDto();
@@ -106,6 +143,22 @@ class UserControllerTest {
         verify(userService, times(1)).getUserById(1L);
     }
 
+    @Test
+    void getUserSummary_whenUserExists_thenReturnCounts() throws Exception {
+        when(userService.getUserSummary(anyLong())).thenReturn(new UserSummaryDto(1L, 2L, 1L, 3L, 4L, 5L));
+
+        mockMvc.perform(get("/users/{userId}/summary", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId", is(1)))
+                .andExpect(jsonPath("$.itemCount", is(2)))
+                .andExpect(jsonPath("$.requestCount", is(1)))
+                .andExpect(jsonPath("$.bookingCount", is(3)))
+                .andExpect(jsonPath("$.ownerBookingCount", is(4)))
+                .andExpect(jsonPath("$.commentCount", is(5)));
+
+        verify(userService, times(1)).getUserSummary(1L);
+    }
+
     @Test
     void getUserById_whenUserNotFound_thenReturnNotFound() throws Exception {
         when(userService.getUserById(anyLong()))
@@ -127,7 +180,7 @@ class UserControllerTest {
         userDto2.setEmail("jane@example.com");
 
         List<UserDto> users = List.of(userDto, userDto2);
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getAllUsers(anyLong(), anyInt())).thenReturn(users);
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -139,18 +192,48 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].name", is(userDto2.getName())))
                 .andExpect(jsonPath("$[1].email", is(userDto2.getEmail())));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getAllUsers(0L, 100);
+    }
+
+    @Test
+    void getAllUsers_whenCursorGiven_thenPassCursorAndSize() throws Exception {
+        when(userService.getAllUsers(anyLong(), anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/users")
+                        .param("after", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+
+        verify(userService, times(1)).getAllUsers(20L, 5);
+    }
+
+    @Test
+    void exportUsers_whenCalled_thenStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userService).exportUsers(any(OutputStream.class));
+
+        MvcResult pending = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
     }
 
     @Test
     void getAllUsers_whenNoUsers_thenReturnEmptyList() throws Exception {
-        when(userService.getAllUsers()).thenReturn(List.of());
+        when(userService.getAllUsers(anyLong(), anyInt())).thenReturn(List.of());
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getAllUsers(0L, 100);
     }
 
     @Test
@@ -201,4 +284,52 @@ class UserControllerTest {
 
         verify(userService, times(1)).updateUser(eq(1L), any(UserDto.class));
     }
+
+    @Test
+    void createUser_whenEmailConstraintViolated_thenReturnConflict() throws Exception {
+        when(userService.createUser(any(UserDto.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("duplicate key", null, "uq_user_email")));
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Конфликт данных")))
+                .andExpect(jsonPath("$.message", is("Пользователь с таким email уже существует")));
+    }
+
+    @Test
+    void updateUser_whenForeignKeyViolated_thenReturnBadRequest() throws Exception {
+        when(userService.updateUser(anyLong(), any(UserDto.class))).thenThrow(new DataIntegrityViolationException("update",
+                new ConstraintViolationException("foreign key", null, "fk_items_request")));
+
+        mockMvc.perform(patch("/users/{userId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Нарушено ограничение целостности данных")));
+    }
+
+    @Test
+    void updateUser_whenIntegrityViolatedWithoutConstraint_thenReturnBadRequest() throws Exception {
+        when(userService.updateUser(anyLong(), any(UserDto.class)))
+                .thenThrow(new DataIntegrityViolationException("update"));
+
+        mockMvc.perform(patch("/users/{userId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateUser_whenUnknownUniqueConstraintViolated_thenReturnInternalServerError() throws Exception {
+        when(userService.updateUser(anyLong(), any(UserDto.class))).thenThrow(new DataIntegrityViolationException("update",
+                new ConstraintViolationException("duplicate key", null,
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "uq_item_popularity")));
+
+        mockMvc.perform(patch("/users/{userId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isInternalServerError());
+    }
 }
\ No newline at end of file
@@ -1,20 +1,31 @@
 package ru.practicum.shareit.user.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import ru.practicum.shareit.exception.ConflictException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserSummaryCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSummaryDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,6 +37,15 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private UserSummaryCache userSummaryCache = new UserSummaryCache(Duration.ofSeconds(30), 100);
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -52,29 +72,27 @@ class UserServiceImplTest {
 
     @Test
     void createUser_whenValidUser_thenUserCreated() {
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(user1);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user1);
 
         UserDto result = userService.createUser(userDto1);
 
         assertNotNull(result);
         assertEquals(user1.getId(), result.getId());
-        verify(userRepository, times(1)).existsByEmail(user1.getEmail());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
-    void createUser_whenEmailExists_thenThrowConflictException() {
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+    void createUser_whenEmailExists_thenConstraintViolationPropagates() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("UQ_USER_EMAIL");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation);
 
-        ConflictException exception = assertThrows(
-                ConflictException.class,
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
                 () -> userService.createUser(userDto1)
         );
 
-        assertEquals("Пользователь с email john@example.com уже существует", exception.getMessage());
-        verify(userRepository, times(1)).existsByEmail(user1.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+        assertSame(violation, exception);
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -84,8 +102,7 @@ class UserServiceImplTest {
         updateDto.setEmail("john.updated@example.com");
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
-        when(userRepository.existsByEmailAndIdNot(anyString(), anyLong())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
             User savedUser = invocation.getArgument(0);
             user1.setName(savedUser.getName());
             user1.setEmail(savedUser.getEmail());
@@ -96,6 +113,7 @@ class UserServiceImplTest {
 
         assertEquals("John Updated", result.getName());
         assertEquals("john.updated@example.com", result.getEmail());
+        verify(eventPublisher, times(1)).publishEvent(new UserUpdatedEvent(user1.getId()));
     }
 
     @Test
@@ -104,13 +122,12 @@ class UserServiceImplTest {
         updateDto.setName("John Updated");
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
-        when(userRepository.save(any(User.class))).thenReturn(user1);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user1);
 
         UserDto result = userService.updateUser(user1.getId(), updateDto);
 
         assertEquals("John Updated", result.getName());
         assertEquals("john@example.com", result.getEmail());
-        verify(userRepository, never()).existsByEmailAndIdNot(anyString(), anyLong());
     }
 
     @Test
@@ -126,19 +143,15 @@ class UserServiceImplTest {
     }
 
     @Test
-    void updateUser_whenEmailTakenByOtherUser_thenThrowConflictException() {
+    void updateUser_whenEmailTakenByOtherUser_thenConstraintViolationPropagates() {
         UserDto updateDto = new UserDto();
         updateDto.setEmail("taken@example.com");
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
-        when(userRepository.existsByEmailAndIdNot(anyString(), anyLong())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("UQ_USER_EMAIL"));
 
-        ConflictException exception = assertThrows(
-                ConflictException.class,
-                () -> userService.updateUser(user1.getId(), updateDto)
-        );
-
-        assertEquals("Email taken@example.com уже используется другим пользователем", exception.getMessage());
+        assertThrows(DataIntegrityViolationException.class, () -> userService.updateUser(user1.getId(), updateDto));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -164,28 +177,71 @@ class UserServiceImplTest {
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
     }
 
+    @Test
+    void getUserSummary_whenCalledTwice_thenQueryOnce() {
+        UserSummaryDto summary = new UserSummaryDto(user1.getId(), 2L, 1L, 3L, 0L, 1L);
+        when(userRepository.findSummary(user1.getId())).thenReturn(Optional.of(summary));
+
+        assertEquals(summary, userService.getUserSummary(user1.getId()));
+        assertEquals(summary, userService.getUserSummary(user1.getId()));
+
+        verify(userRepository, times(1)).findSummary(user1.getId());
+    }
+
+    @Test
+    void getUserSummary_whenUserNotFound_thenThrowNotFoundException() {
+        when(userRepository.findSummary(999L)).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> userService.getUserSummary(999L));
+
+        assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
+    }
+
     @Test
     void getAllUsers_whenUsersExist_thenReturnAllUsers() {
         List<User> users = List.of(user1, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findPageAfter(anyLong(), anyInt())).thenReturn(users);
 
-        List<UserDto> result = userService.getAllUsers();
+        List<UserDto> result = userService.getAllUsers(0L, 10);
 
         assertEquals(2, result.size());
         assertEquals(user1.getId(), result.get(0).getId());
         assertEquals(user2.getId(), result.get(1).getId());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findPageAfter(0L, 10);
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllUsers_whenSizeAboveLimit_thenSizeCapped() {
+        when(userRepository.findPageAfter(anyLong(), anyInt())).thenReturn(List.of(user2));
+
+        userService.getAllUsers(1L, 100_000);
+
+        verify(userRepository).findPageAfter(1L, UserServiceImpl.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void exportUsers_whenUsersExist_thenOneJsonLinePerUser() throws Exception {
+        when(userRepository.streamAllDtos()).thenReturn(Stream.of(userDto1, userDto2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportUsers(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(userDto1, objectMapper.readValue(lines[0], UserDto.class));
+        assertEquals(userDto2, objectMapper.readValue(lines[1], UserDto.class));
     }
 
     @Test
     void getAllUsers_whenNoUsers_thenReturnEmptyList() {
-        when(userRepository.findAll()).thenReturn(List.of());
+        when(userRepository.findPageAfter(anyLong(), anyInt())).thenReturn(List.of());
 
-        List<UserDto> result = userService.getAllUsers();
+        List<UserDto> result = userService.getAllUsers(0L, 10);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findPageAfter(0L, 10);
     }
 
     @Test
@@ -197,6 +253,7 @@ class UserServiceImplTest {
 
         verify(userRepository, times(1)).findById(user1.getId());
         verify(userRepository, times(1)).deleteById(user1.getId());
+        verify(eventPublisher, times(1)).publishEvent(new UserDeletedEvent(user1.getId()));
     }
 
     @Test
@@ -210,5 +267,6 @@ class UserServiceImplTest {
 
         assertEquals("Пользователь с ID 999 не найден", exception.getMessage());
         verify(userRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
\ No newline at end of file